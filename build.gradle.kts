@@ -1,6 +1,7 @@
 
 plugins {
     id("org.gradle.java-library")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 buildscript {
@@ -33,6 +34,16 @@ dependencies {
 }
 
 
+jmh {
+    // Run with `gradle jmh`, sources live in src/jmh/java
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    timeUnit.set("ns")
+    benchmarkMode.add("avgt")
+    profilers.add("gc") // Reports allocation rate per operation
+}
+
 tasks.named<Jar>("jar") {
     archiveFileName.set("SharedPlugin.jar")
 }
@@ -40,4 +51,10 @@ tasks.named<Jar>("jar") {
 tasks.register<Exec>("signFile") {
     dependsOn("build")
     commandLine("cmd", "/c", "sign.bat")
-}
\ No newline at end of file
+}
+
+tasks.register<JavaExec>("spinSimulator") {
+    // Offline Simple GG spin strategy comparison, see SpinSimulator
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("dev.shared.do_gamer.module.simple_galaxy_gate.utils.SpinSimulator")
+}
@@ -0,0 +1,46 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One kamikaze tick worth of aiming samples and queries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AimHistoryBenchmark {
+
+    @Param({ "10", "100", "500" })
+    public int npcs;
+
+    private final AimHistory history = new AimHistory();
+    private long now = 0L;
+
+    @Setup
+    public void setup() {
+        this.history.clear();
+        this.now = 0L;
+    }
+
+    @Benchmark
+    public int recordAndQuery() {
+        this.now += 100L;
+        int aiming = 0;
+        for (int id = 0; id < this.npcs; id++) {
+            this.history.record(100_000 + id, this.now, ((id + this.now / 100L) % 3L) == 0L);
+            if (this.history.aimedWithin(100_000 + id, this.now, 1_000L)) {
+                aiming++;
+            }
+        }
+        return aiming;
+    }
+}
@@ -0,0 +1,91 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Danger scoring of one move decision: the grid against the former linear scan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DangerGridBenchmark {
+    private static final int PROBES = 32;
+
+    @Param({ "10", "20", "100", "300", "500" })
+    public int npcs;
+
+    private double[] xs;
+    private double[] ys;
+    private double[] radii;
+    private double[] probeXs;
+    private double[] probeYs;
+    private final DangerGrid grid = new DangerGrid();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        this.xs = new double[this.npcs];
+        this.ys = new double[this.npcs];
+        this.radii = new double[this.npcs];
+        for (int i = 0; i < this.npcs; i++) {
+            this.xs[i] = random.nextDouble() * 20_000.0;
+            this.ys[i] = random.nextDouble() * 13_000.0;
+            this.radii[i] = 500.0 + random.nextDouble() * 150.0;
+        }
+        // Probes around one point, like getBestDir and searchValidLocation do
+        this.probeXs = new double[PROBES];
+        this.probeYs = new double[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            double angle = 2 * Math.PI * i / PROBES;
+            this.probeXs[i] = 10_000.0 + Math.cos(angle) * 600.0;
+            this.probeYs[i] = 6_000.0 + Math.sin(angle) * 600.0;
+        }
+        this.buildGrid();
+    }
+
+    @Benchmark
+    public double gridBuildAndScore() {
+        this.buildGrid();
+        return this.gridScore();
+    }
+
+    @Benchmark
+    public double gridScore() {
+        double total = 0.0;
+        for (int p = 0; p < PROBES; p++) {
+            total += this.grid.penalty(this.probeXs[p], this.probeYs[p], 0);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double linearScore() {
+        double total = 0.0;
+        for (int p = 0; p < PROBES; p++) {
+            for (int i = 1; i < this.npcs; i++) {
+                double dx = this.xs[i] - this.probeXs[p];
+                double dy = this.ys[i] - this.probeYs[p];
+                total += Math.max(0.0, this.radii[i] - Math.sqrt(dx * dx + dy * dy));
+            }
+        }
+        return total;
+    }
+
+    private void buildGrid() {
+        this.grid.clear();
+        for (int i = 0; i < this.npcs; i++) {
+            this.grid.add(i, this.xs[i], this.ys[i], this.radii[i]);
+        }
+        this.grid.build();
+    }
+}
@@ -0,0 +1,65 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Kamikaze grouping checks on a crowd of flagged NPCs around the gate center.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KamikazeClustersBenchmark {
+
+    @Param({ "10", "50", "100", "500" })
+    public int npcs;
+
+    private double[] xs;
+    private double[] ys;
+    private int[] members;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        this.xs = new double[this.npcs];
+        this.ys = new double[this.npcs];
+        this.members = new int[this.npcs];
+        for (int i = 0; i < this.npcs; i++) {
+            this.xs[i] = 10_000.0 + random.nextGaussian() * 400.0;
+            this.ys[i] = 6_000.0 + random.nextGaussian() * 400.0;
+        }
+    }
+
+    @Benchmark
+    public double hullDiameter() {
+        return KamikazeClusters.diameter(this.xs, this.ys, this.npcs);
+    }
+
+    @Benchmark
+    public double pairwiseDiameter() {
+        double max = 0.0;
+        for (int i = 0; i < this.npcs; i++) {
+            for (int j = i + 1; j < this.npcs; j++) {
+                double dx = this.xs[i] - this.xs[j];
+                double dy = this.ys[i] - this.ys[j];
+                max = Math.max(max, Math.sqrt(dx * dx + dy * dy));
+            }
+        }
+        return max;
+    }
+
+    @Benchmark
+    public int densest() {
+        return KamikazeClusters.densest(this.xs, this.ys, this.npcs, 150.0,
+                10_000.0, 6_000.0, 3_000.0, this.members);
+    }
+}
@@ -0,0 +1,213 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Offline comparison of fixed spin batches against the adaptive {@link SpinStrategy}.
+ * The parts of a batch are drawn from the batches of the same size recorded with the
+ * dev-only `recordSpins` option (data/shared_plugin/spin_outcomes.csv), so their spread
+ * is kept. Sizes never recorded add up draws of a smaller recorded size; without a file,
+ * every spin gets a part with a made up rate. Multiplier spins are left out.
+ * Wasted spins assume the parts of a batch are spread evenly over its spins.
+ * Run with `gradle spinSimulator`, optional arguments: outcomes file, parts per gate, gates.
+ */
+public final class SpinSimulator {
+    private static final double DEFAULT_RATE = 0.3;
+    private static final int DEFAULT_PARTS = 34;
+    private static final int DEFAULT_GATES = 1_000;
+    private static final int SPIN_COST = 100;
+    private static final int URIDIUM_PER_SECOND = 10;
+
+    private SpinSimulator() {
+    }
+
+    /**
+     * Totals of a policy over all simulated gates.
+     */
+    private static final class Result {
+        private long spins = 0L;
+        private long wasted = 0L;
+        private long requests = 0L;
+        private long timeMs = 0L;
+    }
+
+    /**
+     * Parts gained by a batch of spins.
+     */
+    private interface Outcomes {
+        int parts(int spins, Random random);
+    }
+
+    private interface Policy {
+        int batch(int remaining);
+
+        void observe(int spins, int parts);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Outcomes outcomes;
+        if (args.length > 0) {
+            Map<Integer, List<Integer>> recorded = readOutcomes(args[0]);
+            outcomes = resampled(recorded);
+            StringBuilder sizes = new StringBuilder("Recorded batches:");
+            recorded.forEach((spins, batches) -> sizes.append(" x").append(spins).append(": ").append(batches.size()));
+            System.out.println(sizes);
+        } else {
+            outcomes = perSpin(DEFAULT_RATE);
+            System.out.println("Parts per spin: " + DEFAULT_RATE);
+        }
+        int parts = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PARTS;
+        int gates = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_GATES;
+        System.out.println("Parts per gate: " + parts + ", gates: " + gates);
+        System.out.println("policy     spins/gate  wasted/gate  uridium/gate  requests/gate  seconds/gate");
+
+        for (int fixed : SpinStrategy.BATCHES) {
+            print("x" + fixed, simulate(outcomes, parts, gates, fixedPolicy(fixed)), gates);
+        }
+        SpinStrategy strategy = new SpinStrategy();
+        SpinStrategy.Costs costs = new SpinStrategy.Costs(Integer.MAX_VALUE, SPIN_COST, 1, URIDIUM_PER_SECOND);
+        print("adaptive", simulate(outcomes, parts, gates, new Policy() {
+            @Override
+            public int batch(int remaining) {
+                return strategy.isLearned() ? strategy.chooseBatch(remaining, 1, false, costs) : 1;
+            }
+
+            @Override
+            public void observe(int spins, int gained) {
+                strategy.record(spins, 1, false, gained);
+            }
+        }), gates);
+    }
+
+    private static Policy fixedPolicy(int batch) {
+        return new Policy() {
+            @Override
+            public int batch(int remaining) {
+                return batch;
+            }
+
+            @Override
+            public void observe(int spins, int parts) {
+                // Nothing to learn
+            }
+        };
+    }
+
+    private static Result simulate(Outcomes outcomes, int parts, int gates, Policy policy) {
+        Random random = new Random(42L); // Same draws on every run
+        Result result = new Result();
+        for (int gate = 0; gate < gates; gate++) {
+            int remaining = parts;
+            while (remaining > 0) {
+                int batch = policy.batch(remaining);
+                int gained = outcomes.parts(batch, random);
+                if (gained > 0 && gained >= remaining) {
+                    // Spins after the one expected to give the last needed part
+                    int neededSpins = (int) Math.ceil((double) remaining * batch / gained);
+                    result.wasted += batch - neededSpins;
+                }
+                policy.observe(batch, gained);
+                remaining -= Math.min(gained, remaining);
+                result.spins += batch;
+                result.requests++;
+                result.timeMs += SpinStrategy.REQUEST_MS + SpinStrategy.waitMs(batch);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Every spin gets a part with the given rate, the whole part of the rate always.
+     */
+    private static Outcomes perSpin(double rate) {
+        int whole = (int) rate;
+        double fraction = rate - whole;
+        return (spins, random) -> {
+            int parts = 0;
+            for (int spin = 0; spin < spins; spin++) {
+                parts += whole + (random.nextDouble() < fraction ? 1 : 0);
+            }
+            return parts;
+        };
+    }
+
+    /**
+     * Draws a recorded batch of the same size, or adds up draws of the largest smaller
+     * recorded size dividing it. Spins of sizes that can't be built this way get a part
+     * with the recorded rate.
+     */
+    private static Outcomes resampled(Map<Integer, List<Integer>> recorded) {
+        long spins = 0L;
+        long parts = 0L;
+        for (Map.Entry<Integer, List<Integer>> entry : recorded.entrySet()) {
+            for (int gained : entry.getValue()) {
+                spins += entry.getKey();
+                parts += gained;
+            }
+        }
+        Outcomes fallback = perSpin((double) parts / spins);
+        return (batch, random) -> {
+            for (int size : SpinStrategy.BATCHES) {
+                List<Integer> batches = recorded.get(size);
+                if (size > batch || batch % size != 0 || batches == null) {
+                    continue;
+                }
+                int gained = 0;
+                for (int draw = batch / size; draw > 0; draw--) {
+                    gained += batches.get(random.nextInt(batches.size()));
+                }
+                return gained;
+            }
+            return fallback.parts(batch, random);
+        };
+    }
+
+    /**
+     * Parts of each recorded batch without multiplier, by number of spins.
+     */
+    private static Map<Integer, List<Integer>> readOutcomes(String path) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8);
+        Map<Integer, List<Integer>> recorded = new TreeMap<>();
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) { // Skip header
+            String[] columns = line.split(",");
+            if (columns.length < 4 || !"0".equals(columns[1])) {
+                continue;
+            }
+            int spins = Integer.parseInt(columns[0]);
+            if (spins > 0) {
+                recorded.computeIfAbsent(spins, k -> new ArrayList<>()).add(Integer.parseInt(columns[3]));
+            }
+        }
+        if (recorded.isEmpty()) {
+            throw new IllegalArgumentException("No spins without multiplier in " + path);
+        }
+        return recorded;
+    }
+
+    private static void print(String name, Result result, int gates) {
+        System.out.println(pad(name, 11) + pad(perGate(result.spins, gates), 12) + pad(perGate(result.wasted, gates), 13)
+                + pad(perGate(result.spins * SPIN_COST, gates), 14)
+                + pad(perGate(result.requests, gates), 15) + perGate(result.timeMs / 1_000L, gates));
+    }
+
+    private static String perGate(long total, int gates) {
+        long tenths = Math.round(total * 10.0 / gates);
+        return (tenths / 10L) + "." + (tenths % 10L);
+    }
+
+    private static String pad(String text, int width) {
+        StringBuilder sb = new StringBuilder(text);
+        while (sb.length() < width) {
+            sb.append(' ');
+        }
+        return sb.toString();
+    }
+}
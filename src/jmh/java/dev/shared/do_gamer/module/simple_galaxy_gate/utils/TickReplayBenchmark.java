@@ -0,0 +1,153 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Replays a tick log through the API-free gate kernels, one recorded tick per operation:
+ * aiming history, danger grid and kamikaze group, fed from the primitive frame arrays.
+ * Uses the file of the "tickLog" system property, or a generated recording without it.
+ * The loot module and gate handlers need the DarkBot entities and are not replayed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TickReplayBenchmark {
+    private static final int PROBES = 32;
+    private static final int GENERATED_TICKS = 2_000;
+    private static final long AIM_WINDOW_MS = 1_000L;
+
+    private byte[] log;
+    private List<TickLog.Frame> frames;
+    private int next = 0;
+    private long timeOffset = 0L; // Keeps the replay clock going forward when the log starts over
+
+    private final AimHistory aims = new AimHistory();
+    private final DangerGrid grid = new DangerGrid();
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private int[] members = new int[0];
+
+    @Setup
+    public void setup() throws IOException {
+        this.log = load();
+        this.frames = new TickLog.Reader(new ByteArrayInputStream(this.log)).readAll();
+        if (this.frames.isEmpty()) {
+            throw new IllegalStateException("Tick log has no frames");
+        }
+        this.next = 0;
+        this.timeOffset = 0L;
+        this.aims.clear();
+    }
+
+    /**
+     * Bytes of the "tickLog" file, or of a generated recording without it.
+     */
+    public static byte[] load() throws IOException {
+        String path = System.getProperty("tickLog");
+        return path != null ? Files.readAllBytes(Paths.get(path)) : generate();
+    }
+
+    @Benchmark
+    public double replayTick() {
+        TickLog.Frame frame = this.frames.get(this.next);
+        long now = frame.time + this.timeOffset;
+        if (++this.next == this.frames.size()) {
+            this.next = 0;
+            this.timeOffset += frame.time - this.frames.get(0).time + 100L;
+        }
+
+        int n = frame.npcCount;
+        if (this.xs.length < n) {
+            this.xs = new double[n];
+            this.ys = new double[n];
+            this.members = new int[n];
+        }
+        // Aiming history of the kamikaze handler
+        int aiming = 0;
+        for (int i = 0; i < n; i++) {
+            this.aims.record(frame.npcIds[i], now, (frame.npcFlags[i] & TickLog.NPC_AIMING) != 0);
+            if (this.aims.aimedWithin(frame.npcIds[i], now, AIM_WINDOW_MS)) {
+                aiming++;
+            }
+        }
+        // Danger grid of the tick, scored around the hero like a move decision
+        this.grid.clear();
+        for (int i = 0; i < n; i++) {
+            this.xs[i] = frame.npcXs[i];
+            this.ys[i] = frame.npcYs[i];
+            this.grid.add(frame.npcIds[i], this.xs[i], this.ys[i], frame.npcRadii[i]);
+        }
+        this.grid.build();
+        double total = 0.0;
+        for (int p = 0; p < PROBES; p++) {
+            double angle = 2 * Math.PI * p / PROBES;
+            total += this.grid.penalty(frame.heroX + Math.cos(angle) * 600.0,
+                    frame.heroY + Math.sin(angle) * 600.0, 0);
+        }
+        // Kamikaze group around the hero, when enabled and enough NPCs aim at it
+        if ((frame.configFlags & TickLog.CONFIG_KAMIKAZE) != 0 && aiming >= frame.kamikazeMinNpcs) {
+            total += KamikazeClusters.densest(this.xs, this.ys, n, 150.0,
+                    frame.heroX, frame.heroY, 3_000.0, this.members);
+        }
+        return total + aiming;
+    }
+
+    @Benchmark
+    public int decodeLog() throws IOException {
+        TickLog.Reader reader = new TickLog.Reader(new ByteArrayInputStream(this.log));
+        TickLog.Frame frame = new TickLog.Frame();
+        int npcs = 0;
+        while (reader.read(frame)) {
+            npcs += frame.npcCount;
+        }
+        return npcs;
+    }
+
+    /**
+     * Recording of waves of NPCs spawning around the gate center and closing in on the hero,
+     * attacking the nearest one in Delta gate (ID 55).
+     */
+    private static byte[] generate() throws IOException {
+        Random random = new Random(42L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TickLog.Writer writer = new TickLog.Writer(bytes);
+        TickLog.Frame frame = new TickLog.Frame();
+        for (int tick = 0; tick < GENERATED_TICKS; tick++) {
+            int waveTick = tick % 400;
+            int npcs = Math.max(0, 60 - waveTick / 5);
+            frame.clear(tick * 100L, 74, npcs > 0 ? "ATTACKING" : "COLLECTING");
+            frame.setHero(10_000 + random.nextInt(200), 6_500 + random.nextInt(200), 250_000, 200_000);
+            frame.setTargets(npcs > 0 ? TickLog.HERO_ATTACKING : 0, npcs > 0 ? 100_000 : -1, npcs > 0 ? 100_000 : -1);
+            frame.setConfig(55, TickLog.CONFIG_KAMIKAZE, 100, 5);
+            for (int i = 0; i < npcs; i++) {
+                double spread = 3_000.0 - waveTick * 5.0;
+                frame.addNpc(100_000 + i, "-=[ Streuner ]=-",
+                        (int) (10_000 + random.nextGaussian() * spread),
+                        (int) (6_500 + random.nextGaussian() * spread),
+                        8_000, 4_000, 560, random.nextInt(4) == 0 ? TickLog.NPC_AIMING : 0);
+            }
+            if (npcs == 0) {
+                frame.addBox(200_000 + tick, "GIFT_BOXES", 9_000 + random.nextInt(2_000), 6_000 + random.nextInt(1_000));
+            }
+            frame.addPortal(1, 1, 1_000, 1_000);
+            writer.write(frame);
+        }
+        writer.flush();
+        return bytes.toByteArray();
+    }
+}
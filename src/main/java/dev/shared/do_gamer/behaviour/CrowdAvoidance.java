@@ -8,6 +8,7 @@ import dev.shared.do_gamer.config.CrowdAvoidanceConfig;
 import dev.shared.do_gamer.utils.PetGearHelper;
 import dev.shared.utils.CaptchaBoxDetector;
 import dev.shared.utils.TemporalModuleDetector;
+import dev.shared.utils.TickProfiler;
 import eu.darkbot.api.PluginAPI;
 import eu.darkbot.api.config.ConfigSetting;
 import eu.darkbot.api.extensions.Behavior;
@@ -40,6 +41,7 @@ public class CrowdAvoidance implements Behavior, Configurable<CrowdAvoidanceConf
     private final AttackAPI attacker;
     private final GroupAPI groupAPI;
     private final PetGearHelper petGearHelper;
+    private final TickProfiler.Section profile;
     private CrowdAvoidanceConfig config;
     private static final double MIN_DISTANCE_TO_PORTAL = 500.0;
     private static final double MIN_DISTANCE_TO_STATION = 1000.0;
@@ -58,6 +60,7 @@ public class CrowdAvoidance implements Behavior, Configurable<CrowdAvoidanceConf
         this.attacker = api.requireAPI(AttackAPI.class);
         this.groupAPI = api.requireAPI(GroupAPI.class);
         this.petGearHelper = new PetGearHelper(api);
+        this.profile = api.requireInstance(TickProfiler.class).section("Crowd Avoidance");
     }
 
     @Override
@@ -67,6 +70,15 @@ public class CrowdAvoidance implements Behavior, Configurable<CrowdAvoidanceConf
 
     @Override
     public void onTickBehavior() {
+        long start = this.profile.start();
+        try {
+            this.tickBehavior();
+        } finally {
+            this.profile.stop(start);
+        }
+    }
+
+    private void tickBehavior() {
         if (!this.isActive()) {
             return;
         }
@@ -13,6 +13,7 @@ import dev.shared.do_gamer.utils.PetGearHelper;
 import dev.shared.utils.CaptchaBoxDetector;
 import dev.shared.utils.CustomSafetyFinder;
 import dev.shared.utils.TemporalModuleDetector;
+import dev.shared.utils.TickProfiler;
 import eu.darkbot.api.PluginAPI;
 import eu.darkbot.api.config.ConfigSetting;
 import eu.darkbot.api.extensions.Behavior;
@@ -52,6 +53,8 @@ public class OreSeller extends TemporalModule implements Behavior, Configurable<
     private final CustomSafetyFinder safetyFinder;
     private final PetGearHelper petGearHelper;
     private final MapTraveler traveler;
+    private final TickProfiler.Section profile;
+    private final TickProfiler.Section moduleProfile;
 
     private OreSellerConfig config;
     private ActiveMode activeMode = ActiveMode.NONE;
@@ -117,6 +120,9 @@ public class OreSeller extends TemporalModule implements Behavior, Configurable<
         this.starSystem = api.requireAPI(StarSystemAPI.class);
         this.items = api.requireAPI(HeroItemsAPI.class);
         this.traveler = api.requireInstance(MapTraveler.class);
+        TickProfiler profiler = api.requireInstance(TickProfiler.class);
+        this.profile = profiler.section("Ore Seller");
+        this.moduleProfile = profiler.section("Ore Seller (module)");
 
         this.safetyFinder = CustomSafetyFinder.create(api);
         this.petGearHelper = new PetGearHelper(api);
@@ -133,6 +139,15 @@ public class OreSeller extends TemporalModule implements Behavior, Configurable<
 
     @Override
     public void onTickBehavior() {
+        long start = this.profile.start();
+        try {
+            this.tickBehavior();
+        } finally {
+            this.profile.stop(start);
+        }
+    }
+
+    private void tickBehavior() {
         if (!this.isReadyForBehavior()) {
             this.finish();
             return;
@@ -164,6 +179,15 @@ public class OreSeller extends TemporalModule implements Behavior, Configurable<
 
     @Override
     public void onTickModule() {
+        long start = this.moduleProfile.start();
+        try {
+            this.tickModule();
+        } finally {
+            this.moduleProfile.stop(start);
+        }
+    }
+
+    private void tickModule() {
         Timer failSafe = this.timer(TimerSlot.FAIL_SAFE);
         if (failSafe.isArmed()) {
             if (this.isFailSafeExemptState()) {
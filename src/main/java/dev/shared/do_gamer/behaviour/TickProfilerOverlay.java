@@ -0,0 +1,79 @@
+package dev.shared.do_gamer.behaviour;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import dev.shared.do_gamer.config.TickProfilerConfig;
+import dev.shared.utils.TickProfiler;
+import eu.darkbot.api.PluginAPI;
+import eu.darkbot.api.config.ConfigSetting;
+import eu.darkbot.api.extensions.Behavior;
+import eu.darkbot.api.extensions.Configurable;
+import eu.darkbot.api.extensions.Draw;
+import eu.darkbot.api.extensions.Drawable;
+import eu.darkbot.api.extensions.Feature;
+import eu.darkbot.api.extensions.MapGraphics;
+import eu.darkbot.util.Timer;
+
+@Feature(name = "Tick Profiler", description = "Measures the tick cost of the plugin features, skips optional work when a tick is over budget.", enabledByDefault = false)
+@Draw(value = Draw.Stage.OVERLAY)
+public class TickProfilerOverlay implements Behavior, Drawable, Configurable<TickProfilerConfig> {
+    private static final int LINE_HEIGHT = 16;
+    private static final int TOP_MARGIN = 30;
+    private static final int LEFT_MARGIN = 10;
+
+    private final TickProfiler profiler;
+    private final Timer refreshTimer = Timer.get(1_000L);
+    private final Timer flushTimer = Timer.get(10_000L);
+    private TickProfilerConfig config;
+    private volatile List<String> lines = Collections.emptyList();
+
+    public TickProfilerOverlay(PluginAPI api) {
+        this.profiler = api.requireInstance(TickProfiler.class);
+    }
+
+    @Override
+    public void setConfig(ConfigSetting<TickProfilerConfig> config) {
+        this.config = config.getValue();
+    }
+
+    @Override
+    public void onTickBehavior() {
+        if (this.config == null) {
+            return;
+        }
+        // Sets the budget again every tick, it's dropped once this feature is disabled
+        this.profiler.setBudget(this.config.budgetMs, this.config.degradeSeconds * 1_000L, this.config.logToFile);
+        this.profiler.endTick();
+
+        if (this.flushTimer.isInactive()) {
+            this.flushTimer.activate();
+            this.profiler.flushLog();
+        }
+
+        // Overlay text is rendered on the bot thread, drawing only reads it
+        if (this.config.showOverlay && this.refreshTimer.isInactive()) {
+            this.refreshTimer.activate();
+            List<String> text = new ArrayList<>(this.profiler.describe());
+            String lastEvent = this.profiler.getLastEvent();
+            if (lastEvent != null) {
+                text.add((this.profiler.isDegraded() ? "Over budget: " : "Last over budget: ") + lastEvent);
+            }
+            this.lines = text;
+        }
+    }
+
+    @Override
+    public void onDraw(MapGraphics mg) {
+        if (this.config == null || !this.config.showOverlay) {
+            return;
+        }
+        List<String> snapshot = this.lines;
+        mg.setColor("text_light");
+        for (int i = 0; i < snapshot.size(); i++) {
+            int y = TOP_MARGIN + (i + 1) * LINE_HEIGHT;
+            mg.drawString(LEFT_MARGIN, y, snapshot.get(i), MapGraphics.StringAlign.LEFT);
+        }
+    }
+}
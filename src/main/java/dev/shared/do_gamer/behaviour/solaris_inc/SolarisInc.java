@@ -9,6 +9,7 @@ import com.github.manolo8.darkbot.core.itf.NpcExtraProvider;
 
 import dev.shared.do_gamer.config.SolarisIncConfig;
 import dev.shared.do_gamer.utils.PetGearHelper;
+import dev.shared.utils.TickProfiler;
 import eu.darkbot.api.PluginAPI;
 import eu.darkbot.api.config.ConfigSetting;
 import eu.darkbot.api.extensions.Behavior;
@@ -34,6 +35,7 @@ public class SolarisInc implements Behavior, Configurable<SolarisIncConfig>, Npc
     private final HeroItemsAPI items;
     private final MovementAPI movement;
     private final PetGearHelper petGearHelper;
+    private final TickProfiler.Section profile;
     private SolarisIncConfig config;
     private long lastUseTime = 0; // Last use time of the ability
     private long lastStickyTime = 0; // Last time sticky was active
@@ -49,6 +51,7 @@ public class SolarisInc implements Behavior, Configurable<SolarisIncConfig>, Npc
         this.items = api.requireAPI(HeroItemsAPI.class);
         this.movement = api.requireAPI(MovementAPI.class);
         this.petGearHelper = new PetGearHelper(api);
+        this.profile = api.requireInstance(TickProfiler.class).section("Solaris Ability");
 
         // Define supported ships and their ability
         this.supportedShips.add(new ShipAbility("solaris", 10, CustomAbility.SOLARIS_INC));
@@ -58,6 +61,15 @@ public class SolarisInc implements Behavior, Configurable<SolarisIncConfig>, Npc
 
     @Override
     public void onTickBehavior() {
+        long start = this.profile.start();
+        try {
+            this.tickBehavior();
+        } finally {
+            this.profile.stop(start);
+        }
+    }
+
+    private void tickBehavior() {
         // Early exit if feature is disabled
         if (this.config == null || !this.config.enabled) {
             return;
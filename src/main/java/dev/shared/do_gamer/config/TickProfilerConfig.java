@@ -0,0 +1,21 @@
+package dev.shared.do_gamer.config;
+
+import eu.darkbot.api.config.annotations.Number;
+import eu.darkbot.api.config.annotations.Option;
+
+public class TickProfilerConfig {
+
+    @Option("do_gamer.tick_profiler.budget_ms")
+    @Number(min = 5, max = 500, step = 5)
+    public int budgetMs = 50;
+
+    @Option("do_gamer.tick_profiler.degrade_seconds")
+    @Number(min = 1, max = 60, step = 1)
+    public int degradeSeconds = 5;
+
+    @Option("do_gamer.tick_profiler.show_overlay")
+    public boolean showOverlay = true;
+
+    @Option("do_gamer.tick_profiler.log_to_file")
+    public boolean logToFile = true;
+}
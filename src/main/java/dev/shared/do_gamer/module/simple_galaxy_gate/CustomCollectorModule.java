@@ -1,39 +1,102 @@
 package dev.shared.do_gamer.module.simple_galaxy_gate;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 
 import dev.shared.do_gamer.module.simple_galaxy_gate.config.SimpleGalaxyGateConfig;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.BoxJournal;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.BoxRoute;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.FakeBoxRegistry;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.GateHandler;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.StateStore;
 import dev.shared.do_gamer.utils.PetGearHelper;
+import dev.shared.utils.PluginFiles;
+import dev.shared.utils.TickProfiler;
 import eu.darkbot.api.PluginAPI;
 import eu.darkbot.api.game.entities.Box;
 import eu.darkbot.api.game.entities.FakeEntity;
 import eu.darkbot.api.game.enums.PetGear;
+import eu.darkbot.api.game.other.Location;
+import eu.darkbot.api.managers.ConfigAPI;
 import eu.darkbot.api.managers.EntitiesAPI;
 import eu.darkbot.shared.modules.CollectorModule;
 
 public final class CustomCollectorModule extends CollectorModule {
 
     private static final long DEFAULT_FAKE_BOX_TIMEOUT_MS = 300_000L; // 5 minutes in milliseconds
+    private static final String JOURNAL_FILE = "gg_boxes.journal";
 
     private final EntitiesAPI entities;
-    private final Map<String, FakeEntity.FakeBox> fakeBoxes = new HashMap<>();
+    private final ConfigAPI configApi;
+    private final StateStore stateStore;
+    private final FakeBoxRegistry registry = new FakeBoxRegistry();
+    private BoxJournal journal = null; // Opened once the account is known
+    private int journalAccountId = -1;
+    private final List<Box> newBoxes = new ArrayList<>();
+    private final BoxRoute route = new BoxRoute();
+    private final List<Box> routeBoxes = new ArrayList<>();
     private final PetGearHelper petGearHelper;
+    private final TickProfiler profiler;
     private SimpleGalaxyGateConfig config;
+    private GateHandler gateHandler;
+    private long tick = 0L;
+    private long boxesFoundTick = -1L;
+    private int journalMapId = -1;
+    private int forgottenMapId = -1;
+    private boolean replayPending = true;
 
-    CustomCollectorModule(PluginAPI api) {
+    CustomCollectorModule(PluginAPI api, StateStore stateStore) {
         super(api);
+        this.stateStore = stateStore;
         this.entities = api.requireAPI(EntitiesAPI.class);
+        this.configApi = api.requireAPI(ConfigAPI.class);
         this.petGearHelper = new PetGearHelper(api);
+        this.profiler = api.requireInstance(TickProfiler.class);
+        this.registry.setRemovalListener(this::onBoxRemoved);
+        this.registry.setRefreshListener(this::onBoxesRefreshed);
+    }
+
+    /**
+     * Opens the journal of the logged in account, bots sharing the folder keep their own file.
+     * Opened again when the account changes.
+     */
+    private BoxJournal getJournal() {
+        int accountId = this.hero.getId();
+        if (accountId != this.journalAccountId) {
+            this.closeJournal();
+        }
+        if (this.journal == null) {
+            this.journalAccountId = accountId;
+            try {
+                this.journal = BoxJournal.open(PluginFiles.resolveForAccount(JOURNAL_FILE, accountId));
+            } catch (IOException e) {
+                this.journal = BoxJournal.disabled(e.getMessage());
+            }
+        }
+        return this.journal;
+    }
+
+    /**
+     * Releases the journal file, it's opened again on the next tick.
+     */
+    public void closeJournal() {
+        if (this.journal != null) {
+            this.journal.close();
+            this.journal = null;
+            this.journalMapId = -1; // Replay on reopen
+        }
     }
 
     public void setModuleConfig(SimpleGalaxyGateConfig config) {
         this.config = config;
     }
 
+    public void setGateHandler(GateHandler gateHandler) {
+        this.gateHandler = gateHandler;
+    }
+
     @Override
     public void onTickModule() {
         if (this.isNotWaiting()) {
@@ -58,10 +121,30 @@ public final class CustomCollectorModule extends CollectorModule {
         return !this.hasNoBox();
     }
 
+    /**
+     * Starts a new tick, box discovery runs again on the next findBox call.
+     */
+    public void nextTick() {
+        this.tick++;
+    }
+
+    /**
+     * Forces box discovery to run again within the current tick.
+     */
+    public void invalidateBoxes() {
+        this.boxesFoundTick = -1L;
+    }
+
     @Override
     public void findBox() {
+        // Scan and fake box reconciliation run at most once per tick
+        if (this.boxesFoundTick == this.tick) {
+            return;
+        }
         super.findBox();
         this.markVisibleBoxesAsFake();
+        this.followRoute();
+        this.boxesFoundTick = this.tick;
     }
 
     /**
@@ -76,22 +159,116 @@ public final class CustomCollectorModule extends CollectorModule {
      * Marks all currently visible boxes as fake to avoid disappearing them
      */
     private void markVisibleBoxesAsFake() {
-        for (Box box : new ArrayList<>(this.entities.getBoxes())) {
+        long now = System.currentTimeMillis();
+        long timeout = this.getFakeBoxTimeoutMs();
+        int mapId = this.hero.getMap().getId();
+        BoxJournal journal = this.getJournal();
+        // Fakes are only restored on a map (re-)entry, plugin reload or refresh
+        if (mapId != this.journalMapId || this.replayPending) {
+            this.journalMapId = mapId;
+            this.replayPending = false;
+            this.replayJournal(mapId, now);
+        }
+
+        for (Box box : this.entities.getBoxes()) {
             if (this.shouldSkip(box)) {
                 continue;
             }
 
             String hash = box.getHash();
-            FakeEntity.FakeBox fake = this.fakeBoxes.get(hash);
+            FakeEntity.FakeBox fake = this.registry.get(hash);
 
             if (fake == null || !fake.isValid()) {
-                this.fakeBoxes.put(hash, this.createFakeBox(box));
+                this.newBoxes.add(box); // Created after the scan, fakes are added to the boxes list
             } else {
                 this.updateFakeBox(fake, box);
+                this.registry.touch(hash, now + timeout);
+                journal.touch(hash, now + timeout);
+            }
+        }
+
+        for (Box box : this.newBoxes) {
+            this.registry.put(box.getHash(), this.createFakeBox(box), now + timeout);
+            journal.append(mapId, box.getHash(), box.getTypeName(), box.getX(), box.getY(), now + timeout, now);
+            this.forgottenMapId = -1; // Boxes journaled again, e.g. the next run of the gate
+        }
+        this.newBoxes.clear();
+
+        this.registry.tick(now);
+    }
+
+    /**
+     * Recreates fake boxes journaled for the map, after a refresh or plugin reload
+     */
+    private void replayJournal(int mapId, long now) {
+        this.getJournal().replay(mapId, now, (hash, type, x, y, expiry) -> {
+            FakeEntity.FakeBox fake = this.registry.get(hash);
+            if (fake != null && fake.isValid()) {
+                return; // Still on the map
             }
+            FakeEntity.FakeBox replayed = this.entities.fakeEntityBuilder()
+                    .location(Location.of(x, y))
+                    .keepAlive(expiry - now)
+                    .removeOnSelect(true)
+                    .box(this.configApi.getLegacy().getOrCreateBoxInfo(type));
+            this.registry.put(hash, replayed, expiry);
+        });
+    }
+
+    /**
+     * Tombstones a box forgotten by the registry, collected or dropped by the bot on its own.
+     */
+    private void onBoxRemoved(String hash, boolean collected) {
+        this.getJournal().remove(hash);
+    }
+
+    /**
+     * All the fakes were dropped at once by a refresh, they are restored from the journal.
+     */
+    private void onBoxesRefreshed() {
+        this.replayPending = true;
+    }
+
+    /**
+     * Forgets the journaled boxes of the current map, they are gone once the map is left.
+     * Only once per map exit, the jump can take several ticks.
+     */
+    public void forgetMapBoxes() {
+        int mapId = this.hero.getMap().getId();
+        if (mapId != this.forgottenMapId) {
+            this.forgottenMapId = mapId;
+            this.getJournal().forgetMap(mapId);
         }
+    }
 
-        this.cleanupFakeBoxes();
+    /**
+     * Replaces the nearest box with the next one on the planned route while collecting
+     */
+    private void followRoute() {
+        if (this.currentBox == null || this.config == null || !this.config.other.routeBoxCollection
+                || this.stateStore.current() != StateStore.State.COLLECTING) {
+            this.route.clear();
+            return;
+        }
+        if (this.profiler.isDegraded()) {
+            return; // Tick over budget, keep the nearest box and the current route for now
+        }
+
+        // Only boxes of the best available priority are routed
+        int priority = this.currentBox.getInfo().getPriority();
+        for (Box box : this.entities.getBoxes()) {
+            if (box.getInfo().getPriority() == priority
+                    && this.canCollect(box)
+                    && (this.gateHandler == null || !this.gateHandler.shouldIgnoreBox(box))) {
+                this.routeBoxes.add(box);
+            }
+        }
+
+        Box next = this.route.next(this.routeBoxes, this.hero.getX(), this.hero.getY());
+        this.routeBoxes.clear();
+        if (next != null) {
+            this.currentBox = next;
+        }
     }
 
     /**
@@ -135,37 +312,31 @@ public final class CustomCollectorModule extends CollectorModule {
         fake.setTimeout(this.getFakeBoxTimeoutMs());
     }
 
-    /**
-     * Cleans up fake boxes that are no longer valid or have been collected
-     */
-    private void cleanupFakeBoxes() {
-        Iterator<Map.Entry<String, FakeEntity.FakeBox>> iterator = this.fakeBoxes.entrySet().iterator();
-        while (iterator.hasNext()) {
-            FakeEntity.FakeBox fake = iterator.next().getValue();
-            if (fake == null || !fake.isValid() || fake.isCollected()) {
-                iterator.remove();
-            }
-        }
-    }
-
     /**
      * Counts currently tracked fake boxes
      */
     public int count() {
-        return this.fakeBoxes.size();
+        return this.registry.getLiveCount();
     }
 
     /**
      * Returns the collection of currently tracked fake boxes
      */
     public Collection<FakeEntity.FakeBox> getBoxes() {
-        return this.fakeBoxes.values();
+        return this.registry.getBoxes();
+    }
+
+    public FakeBoxRegistry getRegistry() {
+        return this.registry;
     }
 
     @Override
     protected void collectBox() {
         this.tryActivatePetCollectGear();
+        Box box = this.currentBox;
         super.collectBox();
+        this.registry.onSelected(box);
+        this.invalidateBoxes(); // Box may be gone, rescan if asked again this tick
     }
 
     /**
@@ -3,16 +3,20 @@ package dev.shared.do_gamer.module.simple_galaxy_gate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 
 import dev.shared.do_gamer.module.simple_galaxy_gate.config.GateNpcFlag;
-import dev.shared.do_gamer.module.simple_galaxy_gate.config.Maps;
 import dev.shared.do_gamer.module.simple_galaxy_gate.config.SimpleGalaxyGateConfig;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.DangerGrid;
 import dev.shared.do_gamer.module.simple_galaxy_gate.utils.GateHandler;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.GateTelemetry;
 import dev.shared.do_gamer.module.simple_galaxy_gate.utils.KamikazeHandler;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.MotionPredictor;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.NpcSnapshot;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.ReachabilityCache;
 import dev.shared.do_gamer.module.simple_galaxy_gate.utils.StateStore;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.TtkScheduler;
 import eu.darkbot.api.PluginAPI;
 import eu.darkbot.api.config.ConfigSetting;
 import eu.darkbot.api.config.types.NpcFlag;
@@ -21,7 +25,6 @@ import eu.darkbot.api.config.types.ShipMode;
 import eu.darkbot.api.game.entities.Barrier;
 import eu.darkbot.api.game.entities.Box;
 import eu.darkbot.api.game.entities.Npc;
-import eu.darkbot.api.game.enums.EntityEffect;
 import eu.darkbot.api.game.other.Locatable;
 import eu.darkbot.api.game.other.Location;
 import eu.darkbot.api.game.other.Lockable;
@@ -44,11 +47,19 @@ public final class CustomLootModule extends LootModule {
     private boolean repair = false;
     private boolean approachingCenter = false;
     private final Timer finishOffTimer = Timer.get(2_000L);
+    private NpcSnapshot npcSnapshot = NpcSnapshot.EMPTY;
+    private final DangerGrid dangerGrid = new DangerGrid();
+    private long dangerGridTick = -1L;
+    private final ReachabilityCache reachability;
+    private final TtkScheduler ttkScheduler;
+    private final MotionPredictor motion = new MotionPredictor();
 
     private final KamikazeHandler kamikazeHandler;
+    private final StateStore stateStore;
 
-    CustomLootModule(PluginAPI api) {
+    CustomLootModule(PluginAPI api, StateStore stateStore) {
         super(api);
+        this.stateStore = stateStore;
 
         EntitiesAPI entities = api.requireAPI(EntitiesAPI.class);
         this.barriers = entities.getBarriers();
@@ -60,7 +71,9 @@ public final class CustomLootModule extends LootModule {
         this.repairMode = configApi.requireConfig("general.safety.repair");
         this.collectRadius = configApi.requireConfig("collect.radius");
 
-        this.kamikazeHandler = new KamikazeHandler(this, api);
+        this.kamikazeHandler = new KamikazeHandler(this, api, stateStore);
+        this.reachability = new ReachabilityCache(this.movement);
+        this.ttkScheduler = new TtkScheduler(this.hero);
     }
 
     /**
@@ -78,6 +91,10 @@ public final class CustomLootModule extends LootModule {
         this.kamikazeHandler.setGateHandler(gateHandler);
     }
 
+    public void setTelemetry(GateTelemetry telemetry) {
+        this.kamikazeHandler.setTelemetry(telemetry);
+    }
+
     private SimpleGalaxyGateConfig config;
 
     /**
@@ -93,15 +110,55 @@ public final class CustomLootModule extends LootModule {
         return false;
     }
 
+    /**
+     * Captures the NPCs filtered by the gate handler once for the current tick.
+     */
+    public void refreshNpcSnapshot() {
+        List<Npc> npcs = Collections.emptyList();
+        if (this.npcs != null && this.gateHandler != null) {
+            npcs = this.gateHandler.getFilteredNpcs(new ArrayList<>(this.npcs));
+        }
+        this.npcSnapshot = new NpcSnapshot(npcs, this.npcSnapshot.getTick() + 1);
+
+        // Feed the motion history of the hero and the gate NPCs
+        long now = System.currentTimeMillis();
+        this.motion.update(this.hero, now);
+        for (Npc npc : npcs) {
+            this.motion.update(npc, now);
+        }
+        this.motion.prune(now);
+    }
+
+    /**
+     * Gets the motion predictor fed with the hero and snapshot NPC positions.
+     */
+    public MotionPredictor getMotionPredictor() {
+        return this.motion;
+    }
+
+    /**
+     * Gets the NPC snapshot of the current tick.
+     */
+    public NpcSnapshot getNpcSnapshot() {
+        return this.npcSnapshot;
+    }
+
+    public TtkScheduler getTtkScheduler() {
+        return this.ttkScheduler;
+    }
+
+    /**
+     * Whether targets are ordered by estimated time-to-kill.
+     */
+    public boolean isTtkTargeting() {
+        return this.config != null && this.config.other.ttkTargeting;
+    }
+
     /**
      * Gets the list of valid NPCs based on gate handler filtering logic.
      */
     public List<Npc> getNpcs() {
-        if (this.npcs == null || this.gateHandler == null) {
-            return Collections.emptyList();
-        }
-        List<Npc> npcs = new ArrayList<>(this.npcs);
-        return this.gateHandler.getFilteredNpcs(npcs);
+        return this.npcSnapshot.getNpcs();
     }
 
     @Override
@@ -114,6 +171,9 @@ public final class CustomLootModule extends LootModule {
     @Override
     public void onTickModule() {
         this.pet.setEnabled(true);
+        if (this.isTtkTargeting()) {
+            this.ttkScheduler.observe(this.attack.getTargetAs(Npc.class), System.currentTimeMillis());
+        }
         if (this.kamikazeHandler.tick()) {
             return; // Skip rest of logic if handling kamikaze
         }
@@ -130,7 +190,7 @@ public final class CustomLootModule extends LootModule {
                 Box box = this.collector.currentBox;
                 Npc npc = this.attack.getTargetAs(Npc.class);
                 if (box != null && box.isValid() && this.shouldCollectWhileAttacking(npc, box)) {
-                    StateStore.request(StateStore.State.COLLECTING);
+                    this.stateStore.request(StateStore.State.COLLECTING);
                     this.collector.tryCollectNearestBox();
                     if (this.isFarTarget(npc)) {
                         this.hero.setRoamMode(); // If target is far, switch to roam mode
@@ -228,9 +288,11 @@ public final class CustomLootModule extends LootModule {
             return false; // Skip disabled
         }
 
-        double targetDist = target.distanceTo(Maps.getMapCenterX(), Maps.getMapCenterY());
-        double heroDist = this.hero.distanceTo(Maps.getMapCenterX(), Maps.getMapCenterY());
-        return targetDist > Maps.getToleranceDistance()
+        // Use where the target will be, orbiting NPCs would flip the decision otherwise
+        double targetDist = this.motion.predictDistance(target, this.gateHandler.getMapCenterX(), this.gateHandler.getMapCenterY(),
+                MotionPredictor.LONG_AHEAD_MS);
+        double heroDist = this.hero.distanceTo(this.gateHandler.getMapCenterX(), this.gateHandler.getMapCenterY());
+        return targetDist > this.gateHandler.getToleranceDistance()
                 && targetDist > heroDist
                 && target.getHealth().hpPercent() <= 0.25
                 && this.getNpcs().stream().anyMatch(npc -> this.isBetterTarget(npc, targetDist, target));
@@ -241,29 +303,57 @@ public final class CustomLootModule extends LootModule {
      * based on HP, distance to center, and position.
      */
     private boolean isBetterTarget(Npc npc, double distance, Npc target) {
+        long ahead = MotionPredictor.LONG_AHEAD_MS;
         return npc.getHealth().hpPercent() > 0.3
                 && this.shouldKill(npc)
-                && npc.distanceTo(Maps.getMapCenterX(), Maps.getMapCenterY()) < (distance - 800.0)
-                && Math.signum(npc.getX() - Maps.getMapCenterX()) == Math.signum(target.getX() - Maps.getMapCenterX())
-                && Math.signum(npc.getY() - Maps.getMapCenterY()) == Math.signum(target.getY() - Maps.getMapCenterY());
+                && this.motion.predictDistance(npc, this.gateHandler.getMapCenterX(), this.gateHandler.getMapCenterY(), ahead) < (distance - 800.0)
+                && Math.signum(this.motion.predictX(npc, ahead) - this.gateHandler.getMapCenterX())
+                        == Math.signum(this.motion.predictX(target, ahead) - this.gateHandler.getMapCenterX())
+                && Math.signum(this.motion.predictY(npc, ahead) - this.gateHandler.getMapCenterY())
+                        == Math.signum(this.motion.predictY(target, ahead) - this.gateHandler.getMapCenterY());
     }
 
     /**
-     * Gets a comparator for NPCs based on priority, distance and HP percentage.
+     * Finds the NPC to kill with the lowest priority, then distance to the location, then HP percentage.
      */
-    public Comparator<Npc> getNpcComparator(Locatable location) {
-        return Comparator.<Npc>comparingInt(n -> n.getInfo().getPriority())
-                .thenComparingDouble(n -> n.distanceTo(location))
-                .thenComparingDouble(n -> n.getHealth().hpPercent());
+    private Npc bestNpc(Locatable location) {
+        double locX = location.getX();
+        double locY = location.getY();
+        Npc best = null;
+        int bestPriority = 0;
+        double bestDistSq = 0.0;
+        double bestHp = 0.0;
+        for (Npc npc : this.npcSnapshot.getNpcs()) {
+            if (!this.shouldKill(npc)) {
+                continue;
+            }
+            int priority = npc.getInfo().getPriority();
+            if (best != null && priority > bestPriority) {
+                continue;
+            }
+            double dx = npc.getX() - locX;
+            double dy = npc.getY() - locY;
+            double distSq = dx * dx + dy * dy; // Same order as the distance, without the sqrt
+            if (best != null && priority == bestPriority && distSq > bestDistSq) {
+                continue;
+            }
+            double hp = npc.getHealth().hpPercent();
+            if (best == null || priority < bestPriority || distSq < bestDistSq || hp < bestHp) {
+                best = npc;
+                bestPriority = priority;
+                bestDistSq = distSq;
+                bestHp = hp;
+            }
+        }
+        return best;
     }
 
     @Override
     protected Npc closestNpc(Locatable location) {
         Npc target = this.attack.getTargetAs(Npc.class);
-        Npc best = this.getNpcs().stream()
-                .filter(this::shouldKill)
-                .min(this.getNpcComparator(location))
-                .orElse(null);
+        Npc best = this.isTtkTargeting()
+                ? this.ttkScheduler.best(this.npcSnapshot, location, this::shouldKill)
+                : this.bestNpc(location);
 
         if (target != null && target.isValid()) {
             // If current target is still the best, keep it
@@ -294,6 +384,11 @@ public final class CustomLootModule extends LootModule {
             return true;
         }
 
+        // With time-to-kill ordering, keep the target unless the best is clearly faster
+        if (this.isTtkTargeting()) {
+            return this.ttkScheduler.shouldKeep(target, best, location);
+        }
+
         // Prefer current target if it's attacking us and best is not significantly
         // better in terms of distance to location
         if (this.hero.isAttacking(target)) {
@@ -309,27 +404,27 @@ public final class CustomLootModule extends LootModule {
     }
 
     /**
-     * Checks if the NPC has ISH effect.
+     * Determines if the NPC is blocked by barriers and cannot be reached,
+     * while there are other reachable NPCs.
      */
-    private boolean hasIshEffect(Npc npc) {
-        return npc.hasEffect(EntityEffect.NPC_ISH) || npc.hasEffect(EntityEffect.ISH);
+    private boolean isBlockedByBarriers(Npc npc) {
+        return !this.barriers.isEmpty() && !this.canReach(npc)
+                && this.reachability.isAnyReachable(this.npcSnapshot);
     }
 
     /**
-     * Determines if the NPC is blocked by barriers and cannot be reached,
-     * while there are other reachable NPCs.
+     * Checks if the hero can move to the NPC, cached for the current tick.
      */
-    private boolean isBlockedByBarriers(Npc npc) {
-        return !this.barriers.isEmpty() && !this.movement.canMove(npc)
-                && this.getNpcs().stream().anyMatch(this.movement::canMove);
+    public boolean canReach(Npc npc) {
+        return this.reachability.canReach(this.npcSnapshot, npc);
     }
 
     @Override
     protected boolean shouldKill(Npc npc) {
         // Ignore in specials cases
         if (npc.getInfo().hasExtraFlag(NpcFlag.PASSIVE)
-                || (this.hasIshEffect(npc) && this.getNpcs().stream().anyMatch(n -> !this.hasIshEffect(n)))
-                || (npc.isBlacklisted() && this.getNpcs().stream().anyMatch(n -> !n.isBlacklisted()))
+                || (NpcSnapshot.hasIshEffect(npc) && this.npcSnapshot.hasNpcWithoutIsh())
+                || (npc.isBlacklisted() && this.npcSnapshot.hasNotBlacklistedNpc())
                 || this.isBlockedByBarriers(npc)) {
             return false;
         }
@@ -381,7 +476,7 @@ public final class CustomLootModule extends LootModule {
         }
 
         if (this.repair) {
-            StateStore.request(StateStore.State.REPAIRING);
+            this.stateStore.request(StateStore.State.REPAIRING);
         }
     }
 
@@ -424,9 +519,12 @@ public final class CustomLootModule extends LootModule {
                 || target.getHealth().hpPercent() <= 0.3) {
             return false; // No need to approach
         }
-        double distanceHero = this.hero.distanceTo(Maps.getMapCenterX(), Maps.getMapCenterY());
-        double distanceTarget = target.distanceTo(Maps.getMapCenterX(), Maps.getMapCenterY());
-        double tolerance = Maps.getToleranceDistance();
+        // Predicted target position keeps orbiting NPCs from toggling the approach
+        Location targetAhead = Location.of(this.motion.predictX(target, MotionPredictor.LONG_AHEAD_MS),
+                this.motion.predictY(target, MotionPredictor.LONG_AHEAD_MS));
+        double distanceHero = this.hero.distanceTo(this.gateHandler.getMapCenterX(), this.gateHandler.getMapCenterY());
+        double distanceTarget = targetAhead.distanceTo(this.gateHandler.getMapCenterX(), this.gateHandler.getMapCenterY());
+        double tolerance = this.gateHandler.getToleranceDistance();
         double buffer = 800;
         boolean closeEnough = distanceHero < (tolerance - buffer) && distanceTarget < (tolerance - buffer);
         boolean farEnough = distanceHero > tolerance && distanceTarget > tolerance;
@@ -439,8 +537,8 @@ public final class CustomLootModule extends LootModule {
         }
 
         // Calculate angle when approaching
-        double angleHero = this.hero.angleTo(Maps.getMapCenterX(), Maps.getMapCenterY());
-        double angleTarget = target.angleTo(Maps.getMapCenterX(), Maps.getMapCenterY());
+        double angleHero = this.hero.angleTo(this.gateHandler.getMapCenterX(), this.gateHandler.getMapCenterY());
+        double angleTarget = targetAhead.angleTo(this.gateHandler.getMapCenterX(), this.gateHandler.getMapCenterY());
         double angleDiffDeg = Math.toDegrees(angleHero - angleTarget);
 
         if (Math.abs(angleDiffDeg) < 2.0) {
@@ -461,14 +559,25 @@ public final class CustomLootModule extends LootModule {
     @Override
     protected double score(Locatable loc) {
         double base = this.movement.canMove(loc) ? 0 : -1_000;
-        double sum = 0.0;
-        for (Npc npc : this.getNpcs()) {
-            if (this.attack.getTarget() == npc) {
-                continue;
+        Lockable target = this.attack.getTarget();
+        int excludedId = target instanceof Npc ? ((Npc) target).getId() : Integer.MIN_VALUE;
+        return base - this.getDangerGrid().penalty(loc.getX(), loc.getY(), excludedId);
+    }
+
+    /**
+     * Gets the danger grid of the current tick, building it on first use.
+     */
+    private DangerGrid getDangerGrid() {
+        long tick = this.npcSnapshot.getTick();
+        if (this.dangerGridTick != tick) {
+            this.dangerGrid.clear();
+            for (Npc npc : this.npcSnapshot.getNpcs()) {
+                this.dangerGrid.add(npc.getId(), npc.getX(), npc.getY(), npc.getInfo().getRadius());
             }
-            sum += Math.max(0.0, npc.getInfo().getRadius() - npc.distanceTo(loc));
+            this.dangerGrid.build();
+            this.dangerGridTick = tick;
         }
-        return base - sum;
+        return this.dangerGrid;
     }
 
     /**
@@ -2,9 +2,9 @@ package dev.shared.do_gamer.module.simple_galaxy_gate;
 
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.regex.Pattern;
 
 import com.github.manolo8.darkbot.backpage.entities.ShipInfo;
@@ -14,22 +14,33 @@ import com.github.manolo8.darkbot.core.itf.NpcExtraProvider;
 import dev.shared.do_gamer.module.simple_galaxy_gate.config.GateNpcFlag;
 import dev.shared.do_gamer.module.simple_galaxy_gate.config.Maps;
 import dev.shared.do_gamer.module.simple_galaxy_gate.config.SimpleGalaxyGateConfig;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.ConflictResolver;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.FakeBoxRegistry;
 import dev.shared.do_gamer.module.simple_galaxy_gate.utils.GateBuilder;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.GateContext;
 import dev.shared.do_gamer.module.simple_galaxy_gate.utils.GateHandler;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.GateStatsStore;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.GateTelemetry;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.MotionPredictor;
 import dev.shared.do_gamer.module.simple_galaxy_gate.utils.StateStore;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.TickRecorder;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.TtkScheduler;
+import dev.shared.do_gamer.module.simple_galaxy_gate.utils.WaveTracker;
 import dev.shared.do_gamer.utils.BackpageHelper;
 import dev.shared.do_gamer.utils.PetGearHelper;
 import dev.shared.do_gamer.utils.ServerTimeHelper;
+import dev.shared.utils.StatusText;
+import dev.shared.utils.TickProfiler;
 import eu.darkbot.api.PluginAPI;
 import eu.darkbot.api.config.ConfigSetting;
 import eu.darkbot.api.extensions.Configurable;
 import eu.darkbot.api.extensions.Feature;
-import eu.darkbot.api.extensions.FeatureInfo;
 import eu.darkbot.api.extensions.Module;
 import eu.darkbot.api.extensions.Task;
 import eu.darkbot.api.game.entities.Portal;
 import eu.darkbot.api.game.entities.Station;
 import eu.darkbot.api.game.other.GameMap;
+import eu.darkbot.api.managers.AttackAPI;
 import eu.darkbot.api.managers.BotAPI;
 import eu.darkbot.api.managers.ConfigAPI;
 import eu.darkbot.api.managers.EntitiesAPI;
@@ -58,7 +69,12 @@ public final class SimpleGalaxyGate implements Module, Task,
     public final PortalJumper jumper;
     public final BotAPI bot;
     public final BackpageHelper backpageHelper;
-    private final ExtensionsAPI extensionsAPI;
+    private final ConflictResolver conflictResolver;
+    private final TickRecorder tickRecorder;
+    private final TickProfiler profiler;
+    private final TickProfiler.Section profile;
+    private final StatusText statusText = new StatusText();
+    private final StatusText stoppedStatusText = new StatusText();
     public final ConfigAPI configApi;
     private final RepairAPI repairAPI;
 
@@ -72,17 +88,20 @@ public final class SimpleGalaxyGate implements Module, Task,
     private boolean updateHangarData = true;
     private boolean gateVisited = false;
     private boolean canSwitchProfile = false;
-    private boolean fetchServerOffset = false;
-    private boolean safeRefreshInGate = false;
-    private boolean showBoxCount = true;
-    private boolean showCompletedGates = true;
+    private boolean wasDestroyed = false;
+    private long gateEnteredAt = 0L;
     private int completedGates = 0;
 
     private final GateBuilder gateBuilder;
+    private final WaveTracker waveTracker = new WaveTracker();
+    public final StateStore stateStore = new StateStore();
+    public final GateTelemetry telemetry = new GateTelemetry();
+    private final GateStatsStore gateStats = new GateStatsStore();
     public final PetGearHelper petGearHelper;
+    private final Map<Integer, GateHandler> gateHandlers = new HashMap<>(); // By gate ID, handlers keep state
 
     private SimpleGalaxyGateConfig config;
-    private String statusDetails = null;
+    private GateContext gateContext = null;
 
     public PluginAPI getApi() {
         return this.api;
@@ -93,18 +112,23 @@ public final class SimpleGalaxyGate implements Module, Task,
         this.hero = api.requireAPI(HeroAPI.class);
         this.movement = api.requireAPI(MovementAPI.class);
         this.entities = api.requireAPI(EntitiesAPI.class);
-        this.lootModule = new CustomLootModule(api);
-        this.collectorModule = new CustomCollectorModule(api);
+        this.lootModule = new CustomLootModule(api, this.stateStore);
+        this.collectorModule = new CustomCollectorModule(api, this.stateStore);
         this.starSystem = api.requireAPI(StarSystemAPI.class);
         this.traveler = api.requireInstance(MapTraveler.class);
         this.jumper = api.requireInstance(PortalJumper.class);
         this.bot = api.requireAPI(BotAPI.class);
         this.backpageHelper = new BackpageHelper(api);
-        this.extensionsAPI = api.requireAPI(ExtensionsAPI.class);
+        this.conflictResolver = new ConflictResolver(api.requireAPI(ExtensionsAPI.class));
+        this.tickRecorder = new TickRecorder(this.entities, this.hero, this.starSystem, api.requireAPI(AttackAPI.class));
+        this.profiler = api.requireInstance(TickProfiler.class);
+        this.profile = this.profiler.section("Simple GG");
         this.configApi = api.requireAPI(ConfigAPI.class);
         this.repairAPI = api.requireAPI(RepairAPI.class);
 
         this.lootModule.setCollector(this.collectorModule); // Link collector module
+        this.lootModule.setTelemetry(this.telemetry);
+        this.stateStore.setListener(this.telemetry);
         this.gateBuilder = new GateBuilder(this, api);
         this.petGearHelper = new PetGearHelper(api);
     }
@@ -115,6 +139,8 @@ public final class SimpleGalaxyGate implements Module, Task,
         // Make sure the modules receive the same configuration instance.
         this.lootModule.setModuleConfig(this.config);
         this.collectorModule.setModuleConfig(this.config);
+        this.gateContext = null; // Resolve the gate handler again on next tick
+        this.conflictResolver.requestCheck();
     }
 
     @Override
@@ -123,11 +149,10 @@ public final class SimpleGalaxyGate implements Module, Task,
     }
 
     @Override
-    public String getStatus() {
-        String state = StateStore.current().message;
-        StringBuilder status = new StringBuilder(String.format("Simple GG | %s", state));
+    public synchronized String getStatus() {
+        StringBuilder status = this.statusText.begin().append("Simple GG | ").append(this.stateStore.current().message);
 
-        switch (StateStore.current()) {
+        switch (this.stateStore.current()) {
             case TRAVELING_TO_GATE:
                 this.appendTravelingStatus(status);
                 break;
@@ -153,15 +178,16 @@ public final class SimpleGalaxyGate implements Module, Task,
         }
 
         this.appendCompletedGatesStatus(status);
+        this.appendConflictsStatus(status);
         this.appendDebugInfo(status);
-        return status.toString();
+        return this.statusText.end();
     }
 
     private void appendTravelingStatus(StringBuilder status) {
         if (this.gateBuilder.isSwitchingShip()) {
             status.append(": Switching Ship");
         } else {
-            status.append(String.format(": %s", Maps.mapNameForGate(this.config.gateId)));
+            status.append(": ").append(Maps.mapNameForGate(this.config.gateId));
             this.appendDetailsStatus(status);
         }
     }
@@ -170,31 +196,67 @@ public final class SimpleGalaxyGate implements Module, Task,
         if (this.gateBuilder.isSwitchingShip()) {
             status.append(": Switching Ship");
         } else if (this.gateBuilder.isBuildState()) {
-            status.append(String.format(": %s", Maps.mapNameForGate(this.config.gateId)));
+            status.append(": ").append(Maps.mapNameForGate(this.config.gateId));
         } else {
             status.append(": Waiting...");
         }
     }
 
     private void appendGateStatus(StringBuilder status) {
-        status.append(String.format(" | NPC: %d", this.lootModule.getNpcs().size()));
+        status.append(" | NPC: ").append(this.lootModule.getNpcSnapshot().size());
         // Show box count if enabled in gate handler
-        if (this.showBoxCount) {
-            status.append(String.format(" | Box: %d", this.collectorModule.count()));
+        if (this.gateContext != null && this.gateContext.getHandler().isShowBoxCount()) {
+            status.append(" | Box: ").append(this.collectorModule.count());
         }
+        this.appendWaveStatus(status);
+        this.appendEtaStatus(status);
         this.appendDetailsStatus(status);
     }
 
+    /**
+     * Appends the predicted remaining time of the gate, from the previous runs.
+     */
+    private void appendEtaStatus(StringBuilder status) {
+        long eta = this.gateStats.getEtaMs(System.currentTimeMillis());
+        if (eta < 0) {
+            return;
+        }
+        long seconds = eta / 1_000L;
+        status.append(" | ETA: ~").append(seconds / 60L).append(':');
+        StatusText.appendTwoDigits(status, (int) (seconds % 60L));
+    }
+
+    /**
+     * Appends predicted and actual wave clear times of the time-to-kill targeting.
+     */
+    private void appendWaveStatus(StringBuilder status) {
+        if (!this.lootModule.isTtkTargeting()) {
+            return;
+        }
+        TtkScheduler scheduler = this.lootModule.getTtkScheduler();
+        if (this.waveTracker.isRunning() && scheduler.getPredictedWaveMs() >= 0) {
+            long elapsed = this.waveTracker.getElapsedMs(System.currentTimeMillis());
+            status.append(" | Wave: ").append(elapsed / 1_000L)
+                    .append("s/~").append(scheduler.getPredictedWaveMs() / 1_000L).append('s');
+        }
+        if (this.waveTracker.getLastDurationMs() >= 0 && scheduler.getLastPredictedWaveMs() >= 0) {
+            status.append(StatusText.NEW_LINE).append("Last wave: ").append(this.waveTracker.getLastDurationMs() / 1_000L)
+                    .append("s (predicted ").append(scheduler.getLastPredictedWaveMs() / 1_000L).append("s)");
+        }
+    }
+
     private void appendDetailsStatus(StringBuilder status) {
         // Show additional status details if provided by gate handler
-        if (this.statusDetails != null && !this.statusDetails.isEmpty()) {
-            status.append(String.format(" | %s", this.statusDetails));
+        String details = this.getStatusDetails();
+        if (details != null) {
+            status.append(" | ").append(details);
         }
     }
 
     private void appendWaitingStatus(StringBuilder status) {
-        if (this.statusDetails != null && !this.statusDetails.isEmpty()) {
-            status.append(String.format(": %s", this.statusDetails));
+        String details = this.getStatusDetails();
+        if (details != null) {
+            status.append(": ").append(details);
         }
     }
 
@@ -202,35 +264,86 @@ public final class SimpleGalaxyGate implements Module, Task,
      * Appends the number of completed gates.
      */
     private void appendCompletedGatesStatus(StringBuilder status) {
-        if (this.completedGates > 0 && this.showCompletedGates) {
-            status.append(String.format("%nCompleted: %d", this.completedGates));
+        if (this.completedGates > 0 && this.isShowCompletedGates()) {
+            status.append(StatusText.NEW_LINE).append("Completed: ").append(this.completedGates);
+            double perHour = this.gateStats.getGatesPerHour(this.config.gateId);
+            if (perHour > 0) {
+                long tenths = Math.round(perHour * 10.0);
+                status.append(" | ~").append(tenths / 10L).append('.').append(tenths % 10L).append("/h");
+            }
+        }
+    }
+
+    /**
+     * Appends the conflicting features disabled by the module.
+     */
+    private void appendConflictsStatus(StringBuilder status) {
+        String disabled = this.conflictResolver.getDisabledText();
+        if (disabled != null) {
+            status.append(StatusText.NEW_LINE).append("Disabled conflicting: ").append(disabled);
         }
     }
 
+    /**
+     * Gets the status details of the current gate handler, null if there are none.
+     */
+    private String getStatusDetails() {
+        return this.gateContext != null ? this.gateContext.getStatusDetails() : null;
+    }
+
+    private boolean isShowCompletedGates() {
+        return this.gateContext == null || this.gateContext.getHandler().isShowCompletedGates();
+    }
+
     /**
      * Debug information only for dev needs
      */
     private void appendDebugInfo(StringBuilder status) {
+        if (this.profiler.isDegraded()) {
+            return; // Skipped while ticks are over budget
+        }
         switch (this.config.other.debugInfo) {
             case POSITION:
-                double heroX = this.hero.getX();
-                double heroY = this.hero.getY();
                 String heroAction = "Idle";
                 if (this.movement.isMoving()) {
                     heroAction = "Moving";
-                } else if (this.entities.getPortals().stream().anyMatch(Portal::isJumping)) {
+                } else if (this.isAnyPortalJumping()) {
                     heroAction = "Jumping";
                 }
-                int heroMapId = this.hero.getMap().getId();
-                status.append(String.format("%nPosition: X: %.0f, Y: %.0f | %s | MapID: %d",
-                        heroX, heroY, heroAction, heroMapId));
+                status.append(StatusText.NEW_LINE)
+                        .append("Position: X: ").append(Math.round(this.hero.getX()))
+                        .append(", Y: ").append(Math.round(this.hero.getY()))
+                        .append(" | ").append(heroAction)
+                        .append(" | MapID: ").append(this.hero.getMap().getId());
                 break;
             case PORTALS:
                 for (Portal p : this.entities.getPortals()) {
-                    String mapName = p.getTargetMap().map(GameMap::getName).orElse("Unknown");
-                    int mapId = p.getTargetMap().map(GameMap::getId).orElse(-1);
-                    int typeId = p.getTypeId();
-                    status.append(String.format("%nPortal: %s (MapID: %d, TypeID: %d)", mapName, mapId, typeId));
+                    GameMap target = p.getTargetMap().orElse(null);
+                    status.append(StatusText.NEW_LINE)
+                            .append("Portal: ").append(target != null ? target.getName() : "Unknown")
+                            .append(" (MapID: ").append(target != null ? target.getId() : -1)
+                            .append(", TypeID: ").append(p.getTypeId()).append(')');
+                }
+                break;
+            case BOXES:
+                FakeBoxRegistry boxes = this.collectorModule.getRegistry();
+                status.append(StatusText.NEW_LINE)
+                        .append("Boxes: live ").append(boxes.getLiveCount())
+                        .append(" | expired ").append(boxes.getExpiredCount())
+                        .append(" | collected ").append(boxes.getCollectedCount());
+                break;
+            case STATES:
+                long now = System.currentTimeMillis();
+                status.append(StatusText.NEW_LINE)
+                        .append("Repairing: ").append(this.stateStore.getResidencyMs(StateStore.State.REPAIRING, now) / 1000)
+                        .append("s | Jumping: ").append(this.stateStore.getResidencyMs(StateStore.State.JUMPING, now) / 1000)
+                        .append('s');
+                List<StateStore.Transition> transitions = this.stateStore.getTransitions();
+                for (int i = Math.max(0, transitions.size() - 5); i < transitions.size(); i++) {
+                    StateStore.Transition t = transitions.get(i);
+                    status.append(StatusText.NEW_LINE)
+                            .append(t.from.message).append(t.rejected ? " -x " : " -> ").append(t.to.message)
+                            .append(" (").append((now - t.time) / 1000).append("s ago)");
                 }
                 break;
             default:
@@ -240,9 +353,21 @@ public final class SimpleGalaxyGate implements Module, Task,
 
     }
 
+    private boolean isAnyPortalJumping() {
+        for (Portal portal : this.entities.getPortals()) {
+            if (portal.isJumping()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean canRefresh() {
-        return (!this.isMapGG() && StateStore.current() != StateStore.State.BUILDING) || this.safeRefreshInGate;
+        if (!this.isMapGG() && this.stateStore.current() != StateStore.State.BUILDING) {
+            return true;
+        }
+        return this.gateContext != null && this.gateContext.getHandler().canSafeRefreshInGate();
     }
 
     public void setShouldMoveToRefinery(boolean shouldMoveToRefinery) {
@@ -264,8 +389,15 @@ public final class SimpleGalaxyGate implements Module, Task,
     @Override
     public void onTickTask() {
         // Reset gate visited and stuck timer if ship is destroyed
-        if (this.repairAPI.isDestroyed()) {
+        boolean destroyed = this.repairAPI.isDestroyed();
+        if (destroyed && !this.wasDestroyed && this.gateVisited) {
+            this.telemetry.recordDeath();
+            this.gateStats.onDeath();
+        }
+        this.wasDestroyed = destroyed;
+        if (destroyed) {
             this.gateVisited = false;
+            this.waveTracker.reset();
             this.deactivateStuckInGateTimer();
             this.gateCompletionDelayTimer.disarm();
         }
@@ -277,7 +409,8 @@ public final class SimpleGalaxyGate implements Module, Task,
             return; // BackpageManager not valid, skip background tasks
         }
 
-        if (this.fetchServerOffset) {
+        GateContext context = this.gateContext;
+        if (context != null && context.getHandler().isFetchServerOffset()) {
             ServerTimeHelper.fetchServerOffset(this.backpageHelper.getInstance());
         }
 
@@ -302,10 +435,13 @@ public final class SimpleGalaxyGate implements Module, Task,
     }
 
     @Override
-    public String getStoppedStatus() {
-        if (this.statusDetails != null && !this.statusDetails.isEmpty()) {
-            String state = StateStore.State.WAITING.message;
-            return String.format("Simple GG (paused) | %s: %s", state, this.statusDetails);
+    public synchronized String getStoppedStatus() {
+        String details = this.getStatusDetails();
+        if (details != null) {
+            this.stoppedStatusText.begin()
+                    .append("Simple GG (paused) | ").append(StateStore.State.WAITING.message)
+                    .append(": ").append(details);
+            return this.stoppedStatusText.end();
         }
         return null;
     }
@@ -319,30 +455,49 @@ public final class SimpleGalaxyGate implements Module, Task,
         this.switchProfileTimer.disarm();
         this.gateCompletionDelayTimer.disarm();
         this.gateBuilder.reset();
+        this.tickRecorder.flush();
+        this.collectorModule.closeJournal(); // Another bot may use the account meanwhile
+        this.gateStats.abortRun(); // A paused run isn't a usual one
         // Call stopped tick logic for the current gate
-        GateHandler gateHandler = this.createGateHandler();
+        GateHandler gateHandler = this.resolveGateHandler();
         gateHandler.stoppedTickModule();
         gateHandler.reset();
     }
 
     @Override
     public void onTickModule() {
+        long start = this.profile.start();
+        try {
+            this.tickModule();
+        } finally {
+            this.profile.stop(start);
+        }
+    }
+
+    private void tickModule() {
         if (this.config == null) {
             return;
         }
 
         // Resolve conflicts
-        this.conflictResolver();
+        this.conflictResolver.tick();
         // Apply previous state requests
-        StateStore.apply();
+        this.stateStore.apply();
 
-        // Create gate handler instance
-        GateHandler gateHandler = this.createGateHandler();
+        // Gate handler of the configured gate
+        GateHandler gateHandler = this.resolveGateHandler();
+        this.updateTelemetry();
+        this.tickRecorder.tick(this.config, this.stateStore.current());
 
         // Handle Galaxy Gate map
         if (this.isMapGG()) {
             this.setShouldMoveToRefinery(true);
             this.gateBuilder.reset(); // Reset build state
+            if (!this.gateVisited) {
+                this.gateEnteredAt = System.currentTimeMillis();
+                this.gateStats.onGateEntered(this.config.gateId, this.gateEnteredAt,
+                        this.stateStore.getResidencyMs(StateStore.State.COLLECTING, this.gateEnteredAt));
+            }
             this.gateVisited = true; // Mark gate as visited
             this.setCanSwitchProfile(true); // Allow profile switching after visiting gate
             this.handleGalaxyGate(gateHandler);
@@ -368,64 +523,79 @@ public final class SimpleGalaxyGate implements Module, Task,
 
         // Handle traveling to the Galaxy Gate
         if (this.handleTravelToGalaxyGate(gateHandler)) {
-            StateStore.request(StateStore.State.TRAVELING_TO_GATE);
+            this.stateStore.request(StateStore.State.TRAVELING_TO_GATE);
             return;
         }
 
         // Move to refinery if needed
         if (this.shouldMoveToRefinery && this.moveToRefinery()) {
-            StateStore.request(StateStore.State.MOVE_TO_SAFE_POSITION);
+            this.stateStore.request(StateStore.State.MOVE_TO_SAFE_POSITION);
             return;
         }
 
         // Handle building the Galaxy Gate
         if (this.gateBuilder.tick()) {
-            StateStore.request(StateStore.State.BUILDING);
+            this.stateStore.request(StateStore.State.BUILDING);
             this.moveToRefinery(); // Stay near refinery while building
             this.petGearHelper.disable(); // Disable pet while building
             return;
         }
 
-        StateStore.request(StateStore.State.WAITING);
+        this.stateStore.request(StateStore.State.WAITING);
     }
 
     /**
-     * Create a GateHandler instance.
+     * Gets the GateHandler of the configured gate, looked up again only when the gate changes.
      */
-    private GateHandler createGateHandler() {
+    private GateHandler resolveGateHandler() {
         Integer gateId = this.config != null ? this.config.gateId : null;
-        GateHandler handler = Maps.getGateHandler(gateId, this);
-        Maps.setMapCenterX(handler.getMapCenterX());
-        Maps.setMapCenterY(handler.getMapCenterY());
-        Maps.setToleranceDistance(handler.getToleranceDistance());
-        this.fetchServerOffset = handler.isFetchServerOffset();
-        this.safeRefreshInGate = handler.canSafeRefreshInGate();
-        this.showBoxCount = handler.isShowBoxCount();
-        this.showCompletedGates = handler.isShowCompletedGates();
-        this.statusDetails = handler.getStatusDetails();
-        return handler;
+        if (this.gateContext == null || !this.gateContext.isFor(gateId)) {
+            this.gateContext = GateContext.resolve(gateId, this.gateHandlers, this);
+            this.gateStats.onGateSelected(gateId); // The run of another gate won't complete
+            GateHandler handler = this.gateContext.getHandler();
+            this.lootModule.setGateHandler(handler); // Link gate handler to loot module
+            this.collectorModule.setGateHandler(handler);
+        }
+        this.lootModule.refreshNpcSnapshot(); // Capture NPCs once for this tick
+        this.collectorModule.nextTick(); // Boxes are looked up again on first use
+        return this.gateContext.getHandler();
+    }
+
+    /**
+     * Updates the location of the telemetry records and exports them if enabled,
+     * the export is deferred while ticks are over budget.
+     */
+    private void updateTelemetry() {
+        int accountId = this.hero.getId(); // Files are kept per account
+        this.telemetry.setAccount(accountId);
+        this.gateStats.setAccount(accountId);
+        GameMap currentMap = this.starSystem.getCurrentMap();
+        this.telemetry.setLocation(this.gateContext.getMapName(), currentMap != null ? currentMap.getShortName() : null);
+        if (!this.profiler.isDegraded()) {
+            this.telemetry.tick(this.config.other.exportTelemetry);
+        }
     }
 
     /**
      * Handles the logic when in a Galaxy Gate map.
      */
     private void handleGalaxyGate(GateHandler gateHandler) {
-        this.lootModule.setGateHandler(gateHandler); // Link gate handler to loot module
-
         // Reset stuck timer when not waiting in gate
-        if (StateStore.current() != StateStore.State.WAITING_IN_GATE) {
+        if (this.stateStore.current() != StateStore.State.WAITING_IN_GATE) {
             this.deactivateStuckInGateTimer();
         }
 
+        this.trackWave();
+
         // Attack NPCs
-        if (!this.lootModule.getNpcs().isEmpty()) {
-            StateStore.request(StateStore.State.ATTACKING);
+        if (!this.lootModule.getNpcSnapshot().isEmpty()) {
+            this.stateStore.request(StateStore.State.ATTACKING);
             this.lootModule.onTickModule();
             return;
         }
 
         // No NPCs, collect boxes or jump to next map
-        StateStore.request(StateStore.State.COLLECTING);
+        this.stateStore.request(StateStore.State.COLLECTING);
         if (this.config.other.useRunConfig) {
             this.hero.setRunMode();
         }
@@ -441,20 +611,41 @@ public final class SimpleGalaxyGate implements Module, Task,
         }
         if (this.collectorModule.hasNoBox()) {
             // No boxes to collect, move to center
-            StateStore.request(StateStore.State.WAITING_IN_GATE);
+            this.stateStore.request(StateStore.State.WAITING_IN_GATE);
             if (!this.handleStuckInGate() && gateHandler.isMoveToCenter()) {
                 this.moveToCenter();
             }
         }
     }
 
+    /**
+     * Tracks wave start and clear times for the time-to-kill targeting.
+     */
+    private void trackWave() {
+        WaveTracker.Event event = this.waveTracker.update(this.lootModule.getNpcSnapshot().size(),
+                System.currentTimeMillis());
+        if (event == WaveTracker.Event.CLEARED) {
+            this.telemetry.recordWave(this.waveTracker.getLastDurationMs());
+            this.gateStats.onWaveCleared();
+        }
+        if (!this.lootModule.isTtkTargeting()) {
+            return;
+        }
+        if (event == WaveTracker.Event.STARTED) {
+            this.lootModule.getTtkScheduler().predictWave(this.lootModule.getNpcSnapshot());
+        } else if (event == WaveTracker.Event.CLEARED) {
+            this.lootModule.getTtkScheduler().onWaveCleared();
+        }
+    }
+
     /**
      * Moves the hero to the center of the map.
      */
     private void moveToCenter() {
         double offset = 500.0;
-        double x = (Maps.getMapCenterX() - offset);
-        double y = (Maps.getMapCenterY() - offset);
+        GateHandler handler = this.gateContext.getHandler();
+        double x = (handler.getMapCenterX() - offset);
+        double y = (handler.getMapCenterY() - offset);
         this.moveToPosition(x, y, 250.0);
     }
 
@@ -464,6 +655,12 @@ public final class SimpleGalaxyGate implements Module, Task,
      */
     public boolean moveToPosition(double x, double y, double gap) {
         if (this.hero.distanceTo(x, y) > gap && this.movement.canMove(x, y)) {
+            // Already heading there and arriving shortly, don't re-path
+            MotionPredictor motion = this.lootModule.getMotionPredictor();
+            if (this.movement.isMoving()
+                    && motion.predictDistance(this.hero, x, y, MotionPredictor.SHORT_AHEAD_MS) <= gap) {
+                return true;
+            }
             this.movement.moveTo(x, y);
             return true;
         }
@@ -475,7 +672,7 @@ public final class SimpleGalaxyGate implements Module, Task,
      */
     private boolean handleStuckInGate() {
         if (!this.stuckInGateTimer.isArmed()) {
-            if (StateStore.current() == StateStore.State.WAITING_IN_GATE && !this.movement.isMoving()) {
+            if (this.stateStore.current() == StateStore.State.WAITING_IN_GATE && !this.movement.isMoving()) {
                 this.activateStuckInGateTimer(false); // Activate stuck timer
             }
             return false;
@@ -492,7 +689,7 @@ public final class SimpleGalaxyGate implements Module, Task,
                 return true;
             } else {
                 // Else move to radiation to destroy the ship
-                if (!this.moveToPosition(Maps.getMapCenterX(), 0, 50.0) && !this.movement.isMoving()) {
+                if (!this.moveToPosition(this.gateContext.getHandler().getMapCenterX(), 0, 50.0) && !this.movement.isMoving()) {
                     // Remain stuck after moving to radiation,
                     // try refreshing again on next timer expiration
                     this.triedReloadOnStuck = false;
@@ -554,7 +751,7 @@ public final class SimpleGalaxyGate implements Module, Task,
      * based on the gate handler's instructions or default logic.
      */
     private boolean handleTravelToGalaxyGate(GateHandler gateHandler) {
-        if (StateStore.current() == StateStore.State.BUILDING) {
+        if (this.stateStore.current() == StateStore.State.BUILDING) {
             return false; // Do not travel while building
         }
 
@@ -659,7 +856,8 @@ public final class SimpleGalaxyGate implements Module, Task,
     public void jumpToNextMap() {
         Portal portal = this.findNextPortal();
         if (portal != null) {
-            StateStore.request(StateStore.State.JUMPING);
+            this.stateStore.request(StateStore.State.JUMPING);
+            this.collectorModule.forgetMapBoxes(); // Boxes left behind can't be collected anymore
             this.jumper.travelAndJump(portal);
         }
     }
@@ -690,44 +888,24 @@ public final class SimpleGalaxyGate implements Module, Task,
                 .orElse(null);
     }
 
-    /**
-     * Resolves conflicts with other Galaxy Gate related features by disabling them.
-     */
-    private void conflictResolver() {
-        Set<String> conflicts = Set.of(
-                "eu.darkbot.popcorn.don.GGSpinner",
-                "com.pikapika.behaviour.gateSpinShipChanger.GateSpinShipChanger",
-                "com.pikapika.behaviour.refreshGateComplete.RefreshGateComplete",
-                "eu.darkbot.leanon00.botFeatures.TempReturnWindowFix",
-                "eu.darkbot.leanon00.botFeatures.Debug",
-                // old version of LeanPlugin
-                "eu.darkbot.leanon00.Main.Features.TempReturnWindowFix",
-                "eu.darkbot.leanon00.Main.Features.Debug");
-
-        for (String featureId : conflicts) {
-            FeatureInfo<?> featureInfo = this.extensionsAPI.getFeatureInfo(featureId);
-            if (featureInfo != null && featureInfo.isEnabled()) {
-                featureInfo.setEnabled(false); // Disable conflicting feature
-            }
-        }
-    }
-
     /**
      * Handles the logic for when a gate has been visited.
      */
     private boolean handleGateCompletion(GateHandler gateHandler) {
         if (this.gateVisited) {
             // Clear status details to prevent showing stale info
-            this.statusDetails = null;
             gateHandler.clearStatusDetails();
 
             // Activate completion delay timer
             if (!this.gateCompletionDelayTimer.isArmed()) {
+                long now = System.currentTimeMillis();
+                this.telemetry.recordGateRun(now - this.gateEnteredAt);
+                this.gateStats.onGateCompleted(now, this.stateStore.getResidencyMs(StateStore.State.COLLECTING, now));
                 this.gateCompletionDelayTimer.activate();
                 return true; // Just started completion delay
             }
             if (this.gateCompletionDelayTimer.isInactive()) {
-                if (this.showCompletedGates) {
+                if (gateHandler.isShowCompletedGates()) {
                     this.completedGates++; // Increment completed gates count
                 } else {
                     this.completedGates = 0; // Reset if not showing
@@ -735,7 +913,7 @@ public final class SimpleGalaxyGate implements Module, Task,
                 this.gateVisited = false; // Reset for next gate
                 this.gateCompletionDelayTimer.disarm();
             }
-            StateStore.request(StateStore.State.WAITING);
+            this.stateStore.request(StateStore.State.WAITING);
             return true; // In completion delay
         }
         return false;
@@ -750,13 +928,13 @@ public final class SimpleGalaxyGate implements Module, Task,
         }
 
         if (this.config.other.onlyWhenNotAvailable) {
-            if (StateStore.current() != StateStore.State.WAITING) {
+            if (this.stateStore.current() != StateStore.State.WAITING) {
                 this.switchProfileTimer.disarm(); // Reset timer
                 return false;
             }
             // activate timer to make sure there is no more activity before switching
             if (!this.switchProfileTimer.isArmed()) {
-                this.switchProfileTimer.activate();
+                this.activateSwitchProfileTimer();
                 return false; // Wait before checking availability again
             }
 
@@ -775,4 +953,14 @@ public final class SimpleGalaxyGate implements Module, Task,
         return false;
     }
 
+    /**
+     * Waits the fixed time, or somewhat longer than the next gate usually takes to start.
+     */
+    private void activateSwitchProfileTimer() {
+        if (this.config.other.etaProfileSwitch) {
+            this.switchProfileTimer.activate(this.gateStats.getSwitchTimeoutMs(this.config.gateId, 120_000L));
+        } else {
+            this.switchProfileTimer.activate();
+        }
+    }
 }
@@ -3,12 +3,9 @@ package dev.shared.do_gamer.module.simple_galaxy_gate.config;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
-import dev.shared.do_gamer.module.simple_galaxy_gate.SimpleGalaxyGate;
 import dev.shared.do_gamer.module.simple_galaxy_gate.gate.AbgGate;
 import dev.shared.do_gamer.module.simple_galaxy_gate.gate.AnyGate;
 import dev.shared.do_gamer.module.simple_galaxy_gate.gate.DeltaGate;
@@ -36,41 +33,15 @@ public final class Maps {
     }
 
     public static final List<Integer> ABG_IDS = List.of(53, 52, 51); // Gamma, Beta, Alpha gate IDs
-    private static List<MapInfo> ggMaps;
-    private static double mapCenterX = Defaults.MAP_CENTER_X;
-    private static double mapCenterY = Defaults.MAP_CENTER_Y;
-    private static double toleranceDistance = Defaults.TOLERANCE_DISTANCE;
-    private static final Map<Integer, GateHandler> GATE_HANDLER_CACHE = new ConcurrentHashMap<>();
-
-    public static double getMapCenterX() {
-        return mapCenterX;
-    }
-
-    public static void setMapCenterX(double mapCenterX) {
-        Maps.mapCenterX = mapCenterX;
-    }
-
-    public static double getMapCenterY() {
-        return mapCenterY;
-    }
-
-    public static void setMapCenterY(double mapCenterY) {
-        Maps.mapCenterY = mapCenterY;
-    }
-
-    public static double getToleranceDistance() {
-        return toleranceDistance;
-    }
-
-    public static void setToleranceDistance(double toleranceDistance) {
-        Maps.toleranceDistance = toleranceDistance;
-    }
+    private static final MapInfo[] BY_ID; // Indexed by gate ID + ID_OFFSET
+    private static final int ID_OFFSET;
+    private static final List<Integer> GATE_OPTIONS;
 
     private static final class MapInfo {
         public final int id;
         public final String name;
         public final GalaxyGate buildGate;
-        public final List<String> accessBy;
+        public final Set<String> accessBy;
         public final Supplier<GateHandler> gateHandlerSupplier;
 
         public MapInfo(int id, String name, GalaxyGate buildGate, List<String> accessBy,
@@ -78,7 +49,7 @@ public final class Maps {
             this.id = id;
             this.name = name;
             this.buildGate = buildGate;
-            this.accessBy = accessBy;
+            this.accessBy = Set.copyOf(accessBy);
             this.gateHandlerSupplier = gateHandlerSupplier;
         }
     }
@@ -108,16 +79,35 @@ public final class Maps {
         list.add(new MapInfo(499, "Trinity Trials", null, StarSystemAPI.BASE_MAPS, TrinityTrialsGate::new));
         list.add(new MapInfo(509, "Voyagers Ascent", null, StarSystemAPI.BASE_MAPS, VoyagersAscentGate::new));
 
-        ggMaps = Collections.unmodifiableList(list);
+        int minId = 0;
+        int maxId = 0;
+        for (MapInfo info : list) {
+            minId = Math.min(minId, info.id);
+            maxId = Math.max(maxId, info.id);
+        }
+        for (int id : ABG_IDS) {
+            maxId = Math.max(maxId, id);
+        }
+        ID_OFFSET = -minId;
+        BY_ID = new MapInfo[maxId + ID_OFFSET + 1];
+        List<Integer> options = new ArrayList<>(list.size());
+        for (MapInfo info : list) {
+            BY_ID[info.id + ID_OFFSET] = info;
+            options.add(info.id);
+        }
+        // Map ID 0 is a special case for ABG gates, so it also stands for each of them.
+        for (int id : ABG_IDS) {
+            BY_ID[id + ID_OFFSET] = BY_ID[ID_OFFSET];
+        }
+        GATE_OPTIONS = Collections.unmodifiableList(options);
     }
 
     /**
      * Finds mapInfo by gate ID.
      */
     private static MapInfo findMapInfo(int id) {
-        // Map ID 0 is a special case for ABG gates, so we treat it as a wildcard.
-        int actualId = ABG_IDS.contains(id) ? 0 : id;
-        return ggMaps.stream().filter(mi -> mi.id == actualId).findFirst().orElse(null);
+        int index = id + ID_OFFSET;
+        return index >= 0 && index < BY_ID.length ? BY_ID[index] : null;
     }
 
     /**
@@ -158,16 +148,9 @@ public final class Maps {
     }
 
     /**
-     * Gets the GateHandler instance for the specified gate ID.
+     * Creates a new GateHandler instance for the specified gate ID.
      */
-    public static GateHandler getGateHandler(Integer gateId, SimpleGalaxyGate module) {
-        final int cacheKey = gateId == null ? -1 : gateId;
-        GateHandler handler = GATE_HANDLER_CACHE.computeIfAbsent(cacheKey, key -> createGateHandler(gateId));
-        handler.setModule(module);
-        return handler;
-    }
-
-    private static GateHandler createGateHandler(Integer gateId) {
+    public static GateHandler createGateHandler(Integer gateId) {
         GateHandler handler = null;
         if (gateId != null) {
             MapInfo info = findMapInfo(gateId);
@@ -186,7 +169,7 @@ public final class Maps {
     }
 
     public static List<Integer> gateOptions() {
-        return ggMaps.stream().map(mi -> mi.id).collect(Collectors.toList());
+        return GATE_OPTIONS;
     }
 
 }
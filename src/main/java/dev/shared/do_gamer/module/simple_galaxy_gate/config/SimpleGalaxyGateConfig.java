@@ -532,6 +532,13 @@ public final class SimpleGalaxyGateConfig {
         @Percentage
         public double spins100 = 0.0;
 
+        @Option("do_gamer.simple_galaxy_gate.builder.adaptive_spins")
+        public boolean adaptiveSpins = false;
+
+        @Option("do_gamer.simple_galaxy_gate.builder.uri_per_second")
+        @Number(min = 0, max = 1_000)
+        public int uriPerSecond = 10;
+
         @Option("do_gamer.simple_galaxy_gate.builder.speed")
         @Dropdown(options = BuilderSpeedDropdown.class)
         public BuilderSpeed speed = BuilderSpeed.NORMAL;
@@ -677,7 +684,8 @@ public final class SimpleGalaxyGateConfig {
                                 "NPC flag <b>Finish Off</b>: switches to <b>Run config</b> below 25% HP."),
                         buildList("Target switching:",
                                 "Stick to any target: don't switch away from any gate target.",
-                                "NPC flag <b>Stick to Target</b>: like above, but only for that NPC."));
+                                "NPC flag <b>Stick to Target</b>: like above, but only for that NPC.",
+                                "Time-to-kill targeting: among same priority, attack the NPC that dies fastest."));
             }
         }
 
@@ -693,6 +701,9 @@ public final class SimpleGalaxyGateConfig {
         @Option("do_gamer.simple_galaxy_gate.other.only_when_not_available")
         public boolean onlyWhenNotAvailable = false;
 
+        @Option("do_gamer.simple_galaxy_gate.other.eta_profile_switch")
+        public boolean etaProfileSwitch = false;
+
         @Option("do_gamer.simple_galaxy_gate.other.use_run_config")
         public boolean useRunConfig = true;
 
@@ -707,6 +718,15 @@ public final class SimpleGalaxyGateConfig {
         @Number(min = 5, max = 60, step = 1)
         public int fakeBoxTimeoutMinutes = 5;
 
+        @Option("do_gamer.simple_galaxy_gate.other.route_box_collection")
+        public boolean routeBoxCollection = false;
+
+        @Option("do_gamer.simple_galaxy_gate.other.export_telemetry")
+        public boolean exportTelemetry = false;
+
+        @Option("do_gamer.simple_galaxy_gate.other.ttk_targeting")
+        public boolean ttkTargeting = false;
+
         @Option("do_gamer.simple_galaxy_gate.other.target_switch_offset")
         @Number(min = 0, max = 1000, step = 50)
         public int targetSwitchOffset = 100;
@@ -716,6 +736,14 @@ public final class SimpleGalaxyGateConfig {
         @Number(min = 0, max = 5, step = 1)
         public int stuckInGateTimerMinutes = 1;
 
+        @Option.Ignore() // Only for dev needs, not user-facing
+        @Option("do_gamer.simple_galaxy_gate.other.record_ticks")
+        public boolean recordTicks = false;
+
+        @Option.Ignore() // Only for dev needs, not user-facing
+        @Option("do_gamer.simple_galaxy_gate.other.record_spins")
+        public boolean recordSpins = false;
+
         @Option.Ignore() // Only for dev needs, not user-facing
         @Option("do_gamer.simple_galaxy_gate.other.debug_info")
         @Dropdown(options = DebugInfoDropdown.class)
@@ -778,7 +806,9 @@ public final class SimpleGalaxyGateConfig {
         public enum DebugInfoType {
             NONE,
             POSITION,
-            PORTALS;
+            PORTALS,
+            BOXES,
+            STATES;
 
             public String label() {
                 return name().toLowerCase();
@@ -39,7 +39,7 @@ public final class DseGate extends GateHandler {
     public boolean prepareTickModule() {
         // Handle GUI interaction or traveling to gate
         if (this.handleTravelToGate(PORTAL_TYPE_ID)) {
-            StateStore.request(StateStore.State.TRAVELING_TO_GATE);
+            this.module.stateStore.request(StateStore.State.TRAVELING_TO_GATE);
             this.reset();
             return true;
         }
@@ -172,7 +172,7 @@ public final class DseGate extends GateHandler {
         // If we have a guardable NPC and it's the only one left, follow it.
         Npc guardableNpc = this.getGuardableNpc();
         if (guardableNpc != null && this.npcCount() == 0) {
-            StateStore.request(StateStore.State.GUARDING);
+            this.module.stateStore.request(StateStore.State.GUARDING);
             this.module.lootModule.moveToTarget(guardableNpc);
             return true;
         }
@@ -185,7 +185,7 @@ public final class DseGate extends GateHandler {
      */
     private long npcCount() {
         return this.module.lootModule.getNpcs().stream()
-                .filter(n -> !this.isGuardableNpc(n) && this.module.movement.canMove(n))
+                .filter(n -> !this.isGuardableNpc(n) && this.module.lootModule.canReach(n))
                 .count();
     }
 
@@ -204,18 +204,18 @@ public final class DseGate extends GateHandler {
                     || this.getVisibleGui(SHIP_HANGAR_GUI).isPresent()
                     || this.getVisibleGui(SHIP_WARP_GUI).isPresent()
                     || (this.jumpTimer.isArmed() && this.jumpTimer.isInactive())) {
-                StateStore.request(StateStore.State.WAITING_IN_GATE);
+                this.module.stateStore.request(StateStore.State.WAITING_IN_GATE);
                 return true;
             }
 
             // Start jusp timer to detect timeout
-            if (StateStore.current() == StateStore.State.JUMPING && !this.jumpTimer.isArmed()) {
+            if (this.module.stateStore.current() == StateStore.State.JUMPING && !this.jumpTimer.isArmed()) {
                 this.jumpTimer.activate();
             }
 
             // Collect boxes if available, otherwise wait for jump or timeout
             if (this.module.collectorModule.collectIfAvailable()) {
-                StateStore.request(StateStore.State.COLLECTING);
+                this.module.stateStore.request(StateStore.State.COLLECTING);
                 return true;
             }
 
@@ -85,10 +85,10 @@ public final class EternalBlacklightGate extends GateHandler {
         } else {
             if (!this.hasCpu() && this.ebgApi.getCurrentWave() == 0) {
                 if (this.module.moveToRefinery()) {
-                    StateStore.request(StateStore.State.MOVE_TO_SAFE_POSITION);
+                    this.module.stateStore.request(StateStore.State.MOVE_TO_SAFE_POSITION);
                 } else {
                     this.statusDetails = "no CPU available.";
-                    StateStore.request(StateStore.State.WAITING);
+                    this.module.stateStore.request(StateStore.State.WAITING);
                 }
                 return true; // Wait until we have a CPU before proceeding
             }
@@ -134,7 +134,7 @@ public final class EternalBlacklightGate extends GateHandler {
         }
         if (this.handleTravelToGate(EXIT_PORTAL_TYPE_ID)) {
             this.exitRequested = true;
-            StateStore.request(StateStore.State.TRAVELING_TO_GATE);
+            this.module.stateStore.request(StateStore.State.TRAVELING_TO_GATE);
             return true;
         }
         return false;
@@ -54,12 +54,12 @@ public final class GopGate extends GateHandler {
         GauntletPlutusAPI.Status status = this.gopApi.getStatus();
         if (status != GauntletPlutusAPI.Status.AVAILABLE) {
             if (this.module.moveToRefinery()) {
-                StateStore.request(StateStore.State.MOVE_TO_SAFE_POSITION);
+                this.module.stateStore.request(StateStore.State.MOVE_TO_SAFE_POSITION);
             } else {
                 this.statusDetails = status == GauntletPlutusAPI.Status.COMPLETED
                         ? "gate is completed."
                         : "gate not available.";
-                StateStore.request(StateStore.State.WAITING);
+                this.module.stateStore.request(StateStore.State.WAITING);
             }
             return true;
         }
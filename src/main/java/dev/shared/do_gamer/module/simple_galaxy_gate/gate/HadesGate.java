@@ -1,6 +1,5 @@
 package dev.shared.do_gamer.module.simple_galaxy_gate.gate;
 
-import dev.shared.do_gamer.module.simple_galaxy_gate.config.Maps;
 import dev.shared.do_gamer.module.simple_galaxy_gate.utils.GateHandler;
 import dev.shared.do_gamer.module.simple_galaxy_gate.utils.StateStore;
 
@@ -33,8 +32,8 @@ public final class HadesGate extends GateHandler {
     }
 
     private void moveToWaitingSpot() {
-        StateStore.request(StateStore.State.WAITING_IN_GATE);
-        this.module.moveToPosition(Maps.getMapCenterX(), Maps.getMapCenterY() - 100.0, 50.0);
+        this.module.stateStore.request(StateStore.State.WAITING_IN_GATE);
+        this.module.moveToPosition(this.getMapCenterX(), this.getMapCenterY() - 100.0, 50.0);
     }
 
 }
\ No newline at end of file
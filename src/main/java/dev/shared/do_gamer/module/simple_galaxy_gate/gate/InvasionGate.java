@@ -32,7 +32,7 @@ public final class InvasionGate extends GateHandler {
     @Override
     public boolean prepareTickModule() {
         if (this.handleTravelToGate(PORTAL_TYPE_IDS)) {
-            StateStore.request(StateStore.State.TRAVELING_TO_GATE);
+            this.module.stateStore.request(StateStore.State.TRAVELING_TO_GATE);
             return true;
         }
         return false;
@@ -47,7 +47,7 @@ public final class KuiperGate extends GateHandler {
     public boolean collectTickModule() {
         // Jump to next map using Type ID to prevent bug with extra portals appearing.
         if (this.module.collectorModule.hasNoBox() && this.handleTravelToGate(PORTAL_TYPE_ID)) {
-            StateStore.request(StateStore.State.TRAVELING_TO_GATE);
+            this.module.stateStore.request(StateStore.State.TRAVELING_TO_GATE);
             return true;
         }
         return false;
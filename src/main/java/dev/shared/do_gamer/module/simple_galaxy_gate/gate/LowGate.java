@@ -151,7 +151,7 @@ public final class LowGate extends GateHandler {
      */
     private void handleRelayAttack(Relay targetRelay) {
         this.statusDetails = String.format("Attacking Relay %d", this.getNumber(targetRelay));
-        StateStore.request(StateStore.State.ATTACKING);
+        this.module.stateStore.request(StateStore.State.ATTACKING);
 
         // Move closer to Relay
         this.module.lootModule.moveToTarget(targetRelay);
@@ -123,7 +123,7 @@ public final class MimesisMutinyGate extends GateHandler {
                     return true;
                 }
                 // If no boxes to collect, just guard the freighter
-                StateStore.request(StateStore.State.GUARDING);
+                this.module.stateStore.request(StateStore.State.GUARDING);
                 this.module.lootModule.moveToTarget(guardableNpc);
                 return true;
             }
@@ -144,7 +144,7 @@ public final class MimesisMutinyGate extends GateHandler {
             return false;
         }
 
-        StateStore.request(StateStore.State.COLLECTING);
+        this.module.stateStore.request(StateStore.State.COLLECTING);
         this.module.collectorModule.collectIfAvailable();
         return true;
     }
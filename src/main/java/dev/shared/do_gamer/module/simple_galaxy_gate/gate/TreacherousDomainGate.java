@@ -62,7 +62,7 @@ public final class TreacherousDomainGate extends GateHandler {
     private boolean handleAttack(Npc npc, String label) {
         if (npc != null) {
             this.statusDetails = "Targeting " + label;
-            StateStore.request(StateStore.State.ATTACKING);
+            this.module.stateStore.request(StateStore.State.ATTACKING);
             this.module.lootModule.moveToTarget(npc);
             this.module.lootModule.getAttacker().tryLockAndAttack();
             return true;
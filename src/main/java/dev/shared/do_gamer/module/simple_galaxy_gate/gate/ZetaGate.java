@@ -38,7 +38,7 @@ public final class ZetaGate extends GateHandler {
         if (target != null
                 && this.shouldCollectWithDevourer(target)
                 && this.module.collectorModule.collectIfAvailable()) {
-            StateStore.request(StateStore.State.COLLECTING);
+            this.module.stateStore.request(StateStore.State.COLLECTING);
             return true;
         }
 
@@ -0,0 +1,167 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+/**
+ * Recent aiming samples per NPC id, kept in primitive arrays.
+ * Open-addressed table where each slot owns a small ring buffer of sample times,
+ * and the time of the last aim so it's not forgotten when the ring wraps.
+ */
+public final class AimHistory {
+    private static final int RING = 16;
+    private static final long STALE_MS = 10_000L;
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private int capacity;
+    private int size = 0;
+    private boolean[] used;
+    private int[] keys;
+    private long[] lastSeen;
+    private long[] lastAimedAt;
+    private int[] heads;
+    private int[] counts;
+    private long[] aimedBits;
+    private long[] times;
+
+    public AimHistory() {
+        this.allocate(32);
+    }
+
+    /**
+     * Records whether the NPC was aiming at the hero on the tick at the given time.
+     */
+    public void record(int id, long now, boolean aimed) {
+        int slot = this.find(id);
+        if (slot < 0) {
+            if ((this.size + 1) * 2 > this.capacity) {
+                this.rehash(now);
+            }
+            slot = this.insert(id);
+        }
+        int index = this.heads[slot];
+        this.times[slot * RING + index] = now;
+        if (aimed) {
+            this.aimedBits[slot] |= 1L << index;
+            this.lastAimedAt[slot] = now;
+        } else {
+            this.aimedBits[slot] &= ~(1L << index);
+        }
+        this.heads[slot] = (index + 1) % RING;
+        this.counts[slot] = Math.min(this.counts[slot] + 1, RING);
+        this.lastSeen[slot] = now;
+    }
+
+    /**
+     * Checks if the NPC was seen aiming within the last window milliseconds.
+     */
+    public boolean aimedWithin(int id, long now, long windowMs) {
+        int slot = this.find(id);
+        return slot >= 0 && this.lastAimedAt[slot] != NEVER && now - this.lastAimedAt[slot] <= windowMs;
+    }
+
+    /**
+     * Share of samples within the window where the NPC was aiming, 0 if unknown.
+     * Only the last samples of the ring are counted.
+     */
+    public double aimFraction(int id, long now, long windowMs) {
+        int slot = this.find(id);
+        if (slot < 0) {
+            return 0.0;
+        }
+        int total = 0;
+        int aimed = 0;
+        for (int i = 0; i < this.counts[slot]; i++) {
+            if (now - this.times[slot * RING + i] <= windowMs) {
+                total++;
+                if ((this.aimedBits[slot] & (1L << i)) != 0) {
+                    aimed++;
+                }
+            }
+        }
+        return total > 0 ? (double) aimed / total : 0.0;
+    }
+
+    /**
+     * Forgets all samples.
+     */
+    public void clear() {
+        this.allocate(this.capacity);
+    }
+
+    private int find(int id) {
+        int mask = this.capacity - 1;
+        for (int slot = mix(id) & mask; this.used[slot]; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == id) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int insert(int id) {
+        int mask = this.capacity - 1;
+        int slot = mix(id) & mask;
+        while (this.used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        this.used[slot] = true;
+        this.keys[slot] = id;
+        this.lastAimedAt[slot] = NEVER;
+        this.size++;
+        return slot;
+    }
+
+    /**
+     * Rebuilds the table without stale NPCs, growing it if still too full.
+     */
+    private void rehash(long now) {
+        boolean[] oldUsed = this.used;
+        int[] oldKeys = this.keys;
+        long[] oldLastSeen = this.lastSeen;
+        long[] oldLastAimedAt = this.lastAimedAt;
+        int[] oldHeads = this.heads;
+        int[] oldCounts = this.counts;
+        long[] oldAimedBits = this.aimedBits;
+        long[] oldTimes = this.times;
+
+        int live = 0;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i] && now - oldLastSeen[i] <= STALE_MS) {
+                live++;
+            }
+        }
+        int newCapacity = oldUsed.length;
+        while ((live + 1) * 2 > newCapacity) {
+            newCapacity *= 2;
+        }
+        this.allocate(newCapacity);
+
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i] && now - oldLastSeen[i] <= STALE_MS) {
+                int slot = this.insert(oldKeys[i]);
+                this.lastSeen[slot] = oldLastSeen[i];
+                this.lastAimedAt[slot] = oldLastAimedAt[i];
+                this.heads[slot] = oldHeads[i];
+                this.counts[slot] = oldCounts[i];
+                this.aimedBits[slot] = oldAimedBits[i];
+                System.arraycopy(oldTimes, i * RING, this.times, slot * RING, RING);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        this.size = 0;
+        this.used = new boolean[capacity];
+        this.keys = new int[capacity];
+        this.lastSeen = new long[capacity];
+        this.lastAimedAt = new long[capacity];
+        this.heads = new int[capacity];
+        this.counts = new int[capacity];
+        this.aimedBits = new long[capacity];
+        this.times = new long[capacity * RING];
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
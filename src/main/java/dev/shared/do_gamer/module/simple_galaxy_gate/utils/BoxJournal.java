@@ -0,0 +1,283 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembered gate boxes kept in a memory-mapped file, so they survive a game
+ * refresh or a plugin reload. Records have a fixed size and are appended,
+ * only the expiry and flags of a record are updated in place.
+ * The file is locked while open, a second bot on the same file gets a disabled journal.
+ */
+public final class BoxJournal {
+    private static final int MAGIC = 0x47474258; // "GGBX"
+    private static final int VERSION = 1;
+    private static final int CAPACITY = 4_096;
+
+    // Header: magic, version, record count
+    private static final int HEADER_BYTES = 16;
+    private static final int COUNT_OFFSET = 8;
+
+    // Record layout
+    private static final int RECORD_BYTES = 128;
+    private static final int MAP_ID = 0;
+    private static final int X = 4;
+    private static final int Y = 12;
+    private static final int EXPIRY = 20;
+    private static final int FLAGS = 28;
+    private static final int TYPE_LENGTH = 29;
+    private static final int HASH_LENGTH = 30;
+    private static final int TYPE = 32;
+    private static final int TYPE_BYTES = 32;
+    private static final int HASH = 64;
+    private static final int HASH_BYTES = 64;
+
+    private static final byte FLAG_REMOVED = 1;
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private int count = 0;
+
+    /**
+     * Receives the journaled boxes on replay.
+     */
+    public interface Visitor {
+        void visit(String hash, String type, double x, double y, long expiry);
+    }
+
+    private BoxJournal(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer != null) {
+            this.load();
+        }
+    }
+
+    /**
+     * Opens and locks the journal file, falling back to a disabled journal if it
+     * can't be mapped or is locked by another bot.
+     */
+    public static BoxJournal open(Path path) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock(); // Released when the channel is closed
+            if (lock == null) {
+                channel.close();
+                return disabled("locked by another bot");
+            }
+            long size = HEADER_BYTES + (long) CAPACITY * RECORD_BYTES;
+            return new BoxJournal(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(channel);
+            // Overlapping when locked by this bot already, e.g. before a plugin reload closed it
+            return disabled(e instanceof OverlappingFileLockException ? "locked by another bot" : e.getMessage());
+        }
+    }
+
+    /**
+     * Journal that keeps nothing, used when the file can't be created or is in use.
+     */
+    public static BoxJournal disabled(String reason) {
+        System.out.println("Box journal disabled: " + reason);
+        return new BoxJournal(null, null);
+    }
+
+    /**
+     * Releases the file lock, the journal keeps nothing afterwards.
+     */
+    public void close() {
+        this.buffer = null;
+        this.slots.clear();
+        closeQuietly(this.channel);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+
+    /**
+     * Checks if the journal file is in use.
+     */
+    public boolean isEnabled() {
+        return this.buffer != null;
+    }
+
+    /**
+     * Writes a box, reusing its record if the hash is already journaled.
+     */
+    public void append(int mapId, String hash, String type, double x, double y, long expiry, long now) {
+        if (this.buffer == null) {
+            return;
+        }
+        Integer slot = this.slots.get(hash);
+        if (slot == null) {
+            if (this.count == CAPACITY) {
+                this.compact(now);
+            }
+            if (this.count == CAPACITY) {
+                return; // Full of live boxes
+            }
+            slot = this.count++;
+            this.buffer.putInt(COUNT_OFFSET, this.count);
+            this.slots.put(hash, slot);
+        }
+        int base = offset(slot);
+        this.buffer.putInt(base + MAP_ID, mapId);
+        this.buffer.putDouble(base + X, x);
+        this.buffer.putDouble(base + Y, y);
+        this.buffer.putLong(base + EXPIRY, expiry);
+        this.buffer.put(base + FLAGS, (byte) 0);
+        this.buffer.put(base + TYPE_LENGTH, (byte) this.putText(base + TYPE, TYPE_BYTES, type));
+        this.buffer.put(base + HASH_LENGTH, (byte) this.putText(base + HASH, HASH_BYTES, hash));
+    }
+
+    /**
+     * Moves the expiry of a journaled box.
+     */
+    public void touch(String hash, long expiry) {
+        Integer slot = this.buffer != null ? this.slots.get(hash) : null;
+        if (slot != null) {
+            this.buffer.putLong(offset(slot) + EXPIRY, expiry);
+        }
+    }
+
+    /**
+     * Marks a box as gone, it won't be replayed anymore.
+     */
+    public void remove(String hash) {
+        Integer slot = this.buffer != null ? this.slots.remove(hash) : null;
+        if (slot != null) {
+            this.buffer.put(offset(slot) + FLAGS, FLAG_REMOVED);
+        }
+    }
+
+    /**
+     * Marks all boxes of the map as gone.
+     */
+    public void forgetMap(int mapId) {
+        if (this.buffer == null) {
+            return;
+        }
+        for (int slot = 0; slot < this.count; slot++) {
+            int base = offset(slot);
+            if (this.buffer.getInt(base + MAP_ID) == mapId && this.buffer.get(base + FLAGS) == 0) {
+                this.buffer.put(base + FLAGS, FLAG_REMOVED);
+                this.slots.remove(this.getText(base + HASH, this.buffer.get(base + HASH_LENGTH)));
+            }
+        }
+    }
+
+    /**
+     * Visits the boxes of the map that didn't expire yet.
+     */
+    public void replay(int mapId, long now, Visitor visitor) {
+        if (this.buffer == null) {
+            return;
+        }
+        for (int slot = 0; slot < this.count; slot++) {
+            int base = offset(slot);
+            if (this.buffer.getInt(base + MAP_ID) == mapId && this.isLive(base, now)) {
+                visitor.visit(
+                        this.getText(base + HASH, this.buffer.get(base + HASH_LENGTH)),
+                        this.getText(base + TYPE, this.buffer.get(base + TYPE_LENGTH)),
+                        this.buffer.getDouble(base + X),
+                        this.buffer.getDouble(base + Y),
+                        this.buffer.getLong(base + EXPIRY));
+            }
+        }
+    }
+
+    /**
+     * Number of records in use, including removed ones not compacted yet.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    private void load() {
+        if (this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != VERSION) {
+            this.buffer.putInt(0, MAGIC);
+            this.buffer.putInt(4, VERSION);
+            this.buffer.putInt(COUNT_OFFSET, 0);
+            return;
+        }
+        this.count = Math.max(0, Math.min(this.buffer.getInt(COUNT_OFFSET), CAPACITY));
+        this.compact(System.currentTimeMillis());
+    }
+
+    /**
+     * Moves live records to the front, dropping removed and expired ones.
+     */
+    private void compact(long now) {
+        this.slots.clear();
+        int write = 0;
+        for (int read = 0; read < this.count; read++) {
+            int base = offset(read);
+            if (!this.isLive(base, now)) {
+                continue;
+            }
+            if (read != write) {
+                this.copyRecord(base, offset(write));
+            }
+            int writeBase = offset(write);
+            this.slots.put(this.getText(writeBase + HASH, this.buffer.get(writeBase + HASH_LENGTH)), write);
+            write++;
+        }
+        this.count = write;
+        this.buffer.putInt(COUNT_OFFSET, this.count);
+    }
+
+    private boolean isLive(int base, long now) {
+        return this.buffer.get(base + FLAGS) == 0 && this.buffer.getLong(base + EXPIRY) > now;
+    }
+
+    /**
+     * Writes the text truncated to the field size.
+     *
+     * @return number of bytes written
+     */
+    private int putText(int index, int maxBytes, String text) {
+        byte[] bytes = text != null ? text.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int length = Math.min(bytes.length, maxBytes);
+        for (int i = 0; i < length; i++) {
+            this.buffer.put(index + i, bytes[i]);
+        }
+        return length;
+    }
+
+    private String getText(int index, byte length) {
+        byte[] bytes = new byte[Math.min(length & 0xFF, HASH_BYTES)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = this.buffer.get(index + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void copyRecord(int from, int to) {
+        for (int i = 0; i < RECORD_BYTES; i += Long.BYTES) {
+            this.buffer.putLong(to + i, this.buffer.getLong(from + i));
+        }
+    }
+
+    private static int offset(int slot) {
+        return HEADER_BYTES + slot * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,187 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import eu.darkbot.api.game.entities.Box;
+
+/**
+ * Visiting order over the boxes left to collect, starting at the hero.
+ * Seeded by nearest neighbour and improved with 2-opt within a time budget,
+ * boxes appearing later are inserted where they add the least distance.
+ */
+public final class BoxRoute {
+    private static final long BUDGET_NS = 2_000_000L; // 2 ms per re-plan
+
+    private final List<Box> order = new ArrayList<>();
+    private final Set<Box> planned = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Box> current = Collections.newSetFromMap(new IdentityHashMap<>());
+    private double[] xs = new double[16];
+    private double[] ys = new double[16];
+
+    /**
+     * Next box to fly to, re-planning only if the given boxes differ from the planned ones.
+     */
+    public Box next(List<Box> boxes, double heroX, double heroY) {
+        this.current.clear();
+        this.current.addAll(boxes);
+
+        boolean changed = this.order.removeIf(box -> !this.current.contains(box));
+        this.planned.retainAll(this.current);
+
+        if (this.order.isEmpty()) {
+            changed |= this.seed(boxes, heroX, heroY);
+        } else {
+            for (Box box : boxes) {
+                if (this.planned.add(box)) {
+                    this.insert(box, heroX, heroY);
+                    changed = true;
+                }
+            }
+        }
+
+        if (changed) {
+            this.improve(heroX, heroY);
+        }
+        return this.order.isEmpty() ? null : this.order.get(0);
+    }
+
+    /**
+     * Forgets the planned route.
+     */
+    public void clear() {
+        this.order.clear();
+        this.planned.clear();
+    }
+
+    /**
+     * Total length of the planned route from the given position.
+     */
+    public double length(double heroX, double heroY) {
+        double total = 0.0;
+        double x = heroX;
+        double y = heroY;
+        for (Box box : this.order) {
+            total += Math.hypot(box.getX() - x, box.getY() - y);
+            x = box.getX();
+            y = box.getY();
+        }
+        return total;
+    }
+
+    private boolean seed(List<Box> boxes, double heroX, double heroY) {
+        List<Box> left = new ArrayList<>(boxes);
+        double x = heroX;
+        double y = heroY;
+        while (!left.isEmpty()) {
+            int nearest = 0;
+            double nearestDistance = Double.MAX_VALUE;
+            for (int i = 0; i < left.size(); i++) {
+                double distance = Math.hypot(left.get(i).getX() - x, left.get(i).getY() - y);
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearest = i;
+                }
+            }
+            Box box = left.get(nearest);
+            left.set(nearest, left.get(left.size() - 1));
+            left.remove(left.size() - 1);
+            this.order.add(box);
+            this.planned.add(box);
+            x = box.getX();
+            y = box.getY();
+        }
+        return !this.order.isEmpty();
+    }
+
+    /**
+     * Cheapest insertion of a new box into the open route.
+     */
+    private void insert(Box box, double heroX, double heroY) {
+        int bestIndex = this.order.size();
+        double bestCost = Double.MAX_VALUE;
+        double prevX = heroX;
+        double prevY = heroY;
+        for (int i = 0; i <= this.order.size(); i++) {
+            double cost = Math.hypot(box.getX() - prevX, box.getY() - prevY);
+            if (i < this.order.size()) {
+                Box nextBox = this.order.get(i);
+                cost += Math.hypot(nextBox.getX() - box.getX(), nextBox.getY() - box.getY())
+                        - Math.hypot(nextBox.getX() - prevX, nextBox.getY() - prevY);
+                prevX = nextBox.getX();
+                prevY = nextBox.getY();
+            }
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestIndex = i;
+            }
+        }
+        this.order.add(bestIndex, box);
+    }
+
+    /**
+     * 2-opt on the open route, point 0 is the hero and stays fixed.
+     */
+    private void improve(double heroX, double heroY) {
+        int n = this.order.size();
+        if (n < 3) {
+            return;
+        }
+        if (this.xs.length < n + 1) {
+            this.xs = new double[(n + 1) * 2];
+            this.ys = new double[(n + 1) * 2];
+        }
+        this.xs[0] = heroX;
+        this.ys[0] = heroY;
+        for (int i = 0; i < n; i++) {
+            this.xs[i + 1] = this.order.get(i).getX();
+            this.ys[i + 1] = this.order.get(i).getY();
+        }
+
+        // Checked per outer step, a full pass is O(n^2) and alone can outrun the budget
+        long deadline = System.nanoTime() + BUDGET_NS;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 1; i < n; i++) {
+                if (System.nanoTime() >= deadline) {
+                    return;
+                }
+                for (int k = i + 1; k <= n; k++) {
+                    double before = this.dist(i - 1, i);
+                    double after = this.dist(i - 1, k);
+                    if (k < n) {
+                        before += this.dist(k, k + 1);
+                        after += this.dist(i, k + 1);
+                    }
+                    if (after < before - 1e-6) {
+                        this.reverse(i, k);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private double dist(int a, int b) {
+        return Math.hypot(this.xs[a] - this.xs[b], this.ys[a] - this.ys[b]);
+    }
+
+    /**
+     * Reverses route points i..k (1-based, point 0 is the hero).
+     */
+    private void reverse(int i, int k) {
+        for (int a = i, b = k; a < b; a++, b--) {
+            double x = this.xs[a];
+            this.xs[a] = this.xs[b];
+            this.xs[b] = x;
+            double y = this.ys[a];
+            this.ys[a] = this.ys[b];
+            this.ys[b] = y;
+            Collections.swap(this.order, a - 1, b - 1);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import eu.darkbot.api.extensions.FeatureInfo;
+import eu.darkbot.api.managers.ExtensionsAPI;
+import eu.darkbot.util.Timer;
+
+/**
+ * Disables features of other plugins that interfere with the gate module.
+ * Checked on request (config set) and at a low fixed rate otherwise.
+ */
+public final class ConflictResolver {
+    private static final List<String> CONFLICTS = List.of(
+            "eu.darkbot.popcorn.don.GGSpinner",
+            "com.pikapika.behaviour.gateSpinShipChanger.GateSpinShipChanger",
+            "com.pikapika.behaviour.refreshGateComplete.RefreshGateComplete",
+            "eu.darkbot.leanon00.botFeatures.TempReturnWindowFix",
+            "eu.darkbot.leanon00.botFeatures.Debug",
+            // old version of LeanPlugin
+            "eu.darkbot.leanon00.Main.Features.TempReturnWindowFix",
+            "eu.darkbot.leanon00.Main.Features.Debug");
+
+    private final ExtensionsAPI extensions;
+    private final Timer checkTimer = Timer.get(30_000L);
+    private final Set<String> disabled = new LinkedHashSet<>();
+    private String disabledText = null;
+
+    public ConflictResolver(ExtensionsAPI extensions) {
+        this.extensions = extensions;
+    }
+
+    /**
+     * Makes the next tick check the conflicting features.
+     */
+    public void requestCheck() {
+        this.checkTimer.disarm();
+    }
+
+    /**
+     * Disables the enabled conflicting features, only when a check is due.
+     */
+    public void tick() {
+        if (this.checkTimer.isActive()) {
+            return;
+        }
+        this.checkTimer.activate();
+
+        for (String featureId : CONFLICTS) {
+            FeatureInfo<?> featureInfo = this.extensions.getFeatureInfo(featureId);
+            if (featureInfo != null && featureInfo.isEnabled()) {
+                featureInfo.setEnabled(false); // Disable conflicting feature
+                if (this.disabled.add(featureInfo.getName())) {
+                    this.disabledText = String.join(", ", this.disabled);
+                }
+                System.out.println("Simple GG disabled conflicting feature: " + featureInfo.getName());
+            }
+        }
+    }
+
+    /**
+     * Names of the features disabled so far, null if none.
+     */
+    public String getDisabledText() {
+        return this.disabledText;
+    }
+}
@@ -0,0 +1,152 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid of NPC danger circles, so a probe point only checks the NPCs
+ * whose radius can reach it instead of the whole population.
+ */
+public final class DangerGrid {
+    private static final double MIN_CELL_SIZE = 100.0;
+    private static final int MAX_CELLS = 1 << 16;
+
+    private int count = 0;
+    private int[] ids = new int[32];
+    private double[] xs = new double[32];
+    private double[] ys = new double[32];
+    private double[] radii = new double[32];
+
+    // Compressed cell layout: entries of cell c are order[cellStart[c] .. cellStart[c + 1])
+    private int[] cellStart = new int[0];
+    private int[] order = new int[32];
+    private int cols = 0;
+    private int rows = 0;
+    private double cellSize = MIN_CELL_SIZE;
+    private double originX = 0.0;
+    private double originY = 0.0;
+    private double maxRadius = 0.0;
+
+    /**
+     * Removes all circles, keeping the allocated buffers.
+     */
+    public void clear() {
+        this.count = 0;
+        this.cols = 0;
+        this.rows = 0;
+        this.maxRadius = 0.0;
+    }
+
+    /**
+     * Adds a danger circle. Call {@link #build()} once all circles are added.
+     */
+    public void add(int id, double x, double y, double radius) {
+        if (radius <= 0.0) {
+            return; // Can't contribute to any score
+        }
+        if (this.count == this.ids.length) {
+            int capacity = this.count * 2;
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.xs = Arrays.copyOf(this.xs, capacity);
+            this.ys = Arrays.copyOf(this.ys, capacity);
+            this.radii = Arrays.copyOf(this.radii, capacity);
+            this.order = Arrays.copyOf(this.order, capacity);
+        }
+        this.ids[this.count] = id;
+        this.xs[this.count] = x;
+        this.ys[this.count] = y;
+        this.radii[this.count] = radius;
+        this.maxRadius = Math.max(this.maxRadius, radius);
+        this.count++;
+    }
+
+    /**
+     * Buckets the added circles by their center cell.
+     */
+    public void build() {
+        if (this.count == 0) {
+            return;
+        }
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < this.count; i++) {
+            minX = Math.min(minX, this.xs[i]);
+            minY = Math.min(minY, this.ys[i]);
+            maxX = Math.max(maxX, this.xs[i]);
+            maxY = Math.max(maxY, this.ys[i]);
+        }
+
+        // Cell as large as the biggest radius, so a probe needs at most 3x3 cells
+        this.cellSize = Math.max(this.maxRadius, MIN_CELL_SIZE);
+        this.originX = minX;
+        this.originY = minY;
+        this.cols = (int) ((maxX - minX) / this.cellSize) + 1;
+        this.rows = (int) ((maxY - minY) / this.cellSize) + 1;
+        while ((long) this.cols * this.rows > MAX_CELLS) {
+            this.cellSize *= 2.0;
+            this.cols = (int) ((maxX - minX) / this.cellSize) + 1;
+            this.rows = (int) ((maxY - minY) / this.cellSize) + 1;
+        }
+
+        int cells = this.cols * this.rows;
+        if (this.cellStart.length < cells + 1) {
+            this.cellStart = new int[cells + 1];
+        } else {
+            Arrays.fill(this.cellStart, 0, cells + 1, 0);
+        }
+        for (int i = 0; i < this.count; i++) {
+            this.cellStart[this.cellOf(i) + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            this.cellStart[c + 1] += this.cellStart[c];
+        }
+        int[] next = Arrays.copyOf(this.cellStart, cells);
+        for (int i = 0; i < this.count; i++) {
+            this.order[next[this.cellOf(i)]++] = i;
+        }
+    }
+
+    /**
+     * Sums how deep the point is inside each danger circle, skipping the given id.
+     */
+    public double penalty(double x, double y, int excludedId) {
+        if (this.cols == 0) {
+            return 0.0;
+        }
+        int minCol = Math.max(0, (int) Math.floor((x - this.maxRadius - this.originX) / this.cellSize));
+        int maxCol = Math.min(this.cols - 1, (int) Math.floor((x + this.maxRadius - this.originX) / this.cellSize));
+        int minRow = Math.max(0, (int) Math.floor((y - this.maxRadius - this.originY) / this.cellSize));
+        int maxRow = Math.min(this.rows - 1, (int) Math.floor((y + this.maxRadius - this.originY) / this.cellSize));
+
+        double sum = 0.0;
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int cell = row * this.cols + col;
+                for (int k = this.cellStart[cell]; k < this.cellStart[cell + 1]; k++) {
+                    int i = this.order[k];
+                    if (this.ids[i] == excludedId) {
+                        continue;
+                    }
+                    double dx = this.xs[i] - x;
+                    double dy = this.ys[i] - y;
+                    double depth = this.radii[i] - Math.sqrt(dx * dx + dy * dy);
+                    if (depth > 0.0) {
+                        sum += depth;
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    private int cellOf(int i) {
+        int col = (int) ((this.xs[i] - this.originX) / this.cellSize);
+        int row = (int) ((this.ys[i] - this.originY) / this.cellSize);
+        return row * this.cols + col;
+    }
+}
@@ -48,7 +48,7 @@ public abstract class DifficultySelectGateHandler extends GateHandler {
         }
         // Handle GUI interaction or traveling to gate
         if (this.handleGui() || this.handleTravelToGate(this.portalTypeId)) {
-            StateStore.request(StateStore.State.TRAVELING_TO_GATE);
+            this.module.stateStore.request(StateStore.State.TRAVELING_TO_GATE);
             return true;
         }
         return false;
@@ -0,0 +1,265 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import eu.darkbot.api.game.entities.Box;
+import eu.darkbot.api.game.entities.FakeEntity;
+
+/**
+ * Remembered gate boxes keyed by the hash of the real box.
+ * Expiry is driven by a timing wheel of one second slots, so each tick only
+ * touches the boxes that are due instead of every remembered box.
+ */
+public final class FakeBoxRegistry {
+    private static final long SLOT_MS = 1_000L;
+    private static final int WHEEL_SLOTS = 4_096; // ~68 minutes, above the longest box memory time
+    private static final int VALIDATE_PER_TICK = 8;
+
+    private final Map<String, Entry> byHash = new HashMap<>();
+    private final Map<Box, Entry> byFake = new IdentityHashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<FakeEntity.FakeBox> boxes = new ArrayList<>(); // Same order as entries
+    private final List<FakeEntity.FakeBox> boxesView = Collections.unmodifiableList(this.boxes);
+    @SuppressWarnings("unchecked")
+    private final List<Entry>[] wheel = new List[WHEEL_SLOTS];
+    private long processedSlot = -1L;
+    private int validateCursor = 0;
+
+    private long expiredCount = 0L;
+    private long collectedCount = 0L;
+    private RemovalListener listener = null;
+    private Runnable refreshListener = null;
+
+    /**
+     * Notified when a single box is forgotten before its memory time ran out.
+     */
+    public interface RemovalListener {
+        /**
+         * @param collected true if the box was collected, false if the bot removed the fake
+         */
+        void onRemoved(String hash, boolean collected);
+    }
+
+    public void setRemovalListener(RemovalListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Notified when the bot dropped all the fakes at once, on a refresh.
+     * The boxes are forgotten without notifying the removal listener.
+     */
+    public void setRefreshListener(Runnable refreshListener) {
+        this.refreshListener = refreshListener;
+    }
+
+    /**
+     * Gets the fake box remembered for the real box hash.
+     */
+    public FakeEntity.FakeBox get(String hash) {
+        Entry entry = this.byHash.get(hash);
+        return entry != null ? entry.fake : null;
+    }
+
+    /**
+     * Remembers a fake box until the given deadline, replacing the previous one.
+     */
+    public void put(String hash, FakeEntity.FakeBox fake, long deadline) {
+        Entry previous = this.byHash.get(hash);
+        if (previous != null) {
+            this.remove(previous);
+        }
+        Entry entry = new Entry(hash, fake, deadline);
+        entry.index = this.entries.size();
+        this.entries.add(entry);
+        this.boxes.add(fake);
+        this.byHash.put(hash, entry);
+        this.byFake.put(fake, entry);
+        this.schedule(entry);
+    }
+
+    /**
+     * Extends the deadline of a remembered box. The wheel entry is moved lazily
+     * when its current slot comes due.
+     */
+    public void touch(String hash, long deadline) {
+        Entry entry = this.byHash.get(hash);
+        if (entry != null) {
+            entry.deadline = deadline;
+        }
+    }
+
+    /**
+     * Drops the box once it got selected for collection and removed from the map.
+     */
+    public void onSelected(Box box) {
+        Entry entry = box != null ? this.byFake.get(box) : null;
+        if (entry != null && (!entry.fake.isValid() || entry.fake.isCollected())) {
+            this.remove(entry);
+            this.collectedCount++;
+            this.notifyRemoved(entry, true);
+        }
+    }
+
+    /**
+     * Expires due boxes and validates a few remembered ones.
+     */
+    public void tick(long now) {
+        long nowSlot = now / SLOT_MS;
+        if (this.processedSlot < 0) {
+            this.processedSlot = nowSlot - 1;
+        }
+        // Slots before the current one only hold deadlines in the past (or extended ones)
+        long from = Math.max(this.processedSlot + 1, nowSlot - WHEEL_SLOTS);
+        for (long slot = from; slot < nowSlot; slot++) {
+            this.expireSlot(slot, now);
+        }
+        this.processedSlot = Math.max(this.processedSlot, nowSlot - 1);
+        this.validateSome();
+    }
+
+    /**
+     * Number of boxes currently remembered.
+     */
+    public int getLiveCount() {
+        return this.entries.size();
+    }
+
+    /**
+     * Number of boxes forgotten after their memory time ran out.
+     */
+    public long getExpiredCount() {
+        return this.expiredCount;
+    }
+
+    /**
+     * Number of boxes forgotten after being selected for collection.
+     */
+    public long getCollectedCount() {
+        return this.collectedCount;
+    }
+
+    /**
+     * Currently remembered fake boxes, a live read-only view.
+     * Copy it to keep it across ticks.
+     */
+    public List<FakeEntity.FakeBox> getBoxes() {
+        return this.boxesView;
+    }
+
+    private void expireSlot(long slot, long now) {
+        int index = (int) (slot % WHEEL_SLOTS);
+        List<Entry> due = this.wheel[index];
+        if (due == null || due.isEmpty()) {
+            return;
+        }
+        this.wheel[index] = null;
+        for (Entry entry : due) {
+            if (entry.removed) {
+                continue;
+            }
+            if (entry.deadline > now) {
+                this.schedule(entry); // Deadline was extended meanwhile
+            } else {
+                this.remove(entry);
+                this.expiredCount++;
+            }
+        }
+    }
+
+    /**
+     * Checks a few boxes per tick, for fakes removed by the bot on its own.
+     */
+    private void validateSome() {
+        for (int i = 0; i < VALIDATE_PER_TICK && !this.entries.isEmpty(); i++) {
+            this.validateCursor = this.validateCursor % this.entries.size();
+            Entry entry = this.entries.get(this.validateCursor);
+            if (entry.fake.isCollected()) {
+                this.remove(entry);
+                this.collectedCount++;
+                this.notifyRemoved(entry, true);
+            } else if (!entry.fake.isValid()) {
+                if (this.entries.size() > 1 && !this.hasValidBox()) {
+                    this.onRefresh();
+                    return;
+                }
+                this.remove(entry);
+                this.expiredCount++;
+                this.notifyRemoved(entry, false);
+            } else {
+                this.validateCursor++;
+            }
+        }
+    }
+
+    /**
+     * Checks if any remembered fake is still on the map, the bot drops them all on a refresh.
+     */
+    private boolean hasValidBox() {
+        for (FakeEntity.FakeBox box : this.boxes) {
+            if (box.isValid()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forgets every box, more than one fake invalid at once is a refresh rather than single removals.
+     */
+    private void onRefresh() {
+        this.expiredCount += this.entries.size();
+        while (!this.entries.isEmpty()) {
+            this.remove(this.entries.get(this.entries.size() - 1));
+        }
+        if (this.refreshListener != null) {
+            this.refreshListener.run();
+        }
+    }
+
+    private void schedule(Entry entry) {
+        int index = (int) ((entry.deadline / SLOT_MS) % WHEEL_SLOTS);
+        if (this.wheel[index] == null) {
+            this.wheel[index] = new ArrayList<>();
+        }
+        this.wheel[index].add(entry);
+    }
+
+    private void remove(Entry entry) {
+        entry.removed = true;
+        this.byHash.remove(entry.hash);
+        this.byFake.remove(entry.fake);
+        // Swap with the last entry to keep removal O(1)
+        Entry last = this.entries.remove(this.entries.size() - 1);
+        this.boxes.remove(this.boxes.size() - 1);
+        if (last != entry) {
+            last.index = entry.index;
+            this.entries.set(entry.index, last);
+            this.boxes.set(entry.index, last.fake);
+        }
+    }
+
+    private void notifyRemoved(Entry entry, boolean collected) {
+        if (this.listener != null) {
+            this.listener.onRemoved(entry.hash, collected);
+        }
+    }
+
+    private static final class Entry {
+        private final String hash;
+        private final FakeEntity.FakeBox fake;
+        private long deadline;
+        private int index;
+        private boolean removed = false;
+
+        private Entry(String hash, FakeEntity.FakeBox fake, long deadline) {
+            this.hash = hash;
+            this.fake = fake;
+            this.deadline = deadline;
+        }
+    }
+}
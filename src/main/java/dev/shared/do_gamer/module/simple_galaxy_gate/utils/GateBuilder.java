@@ -1,10 +1,23 @@
 package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 import dev.shared.do_gamer.module.simple_galaxy_gate.SimpleGalaxyGate;
 import dev.shared.do_gamer.module.simple_galaxy_gate.config.Maps;
 import dev.shared.do_gamer.module.simple_galaxy_gate.config.SimpleGalaxyGateConfig;
+import dev.shared.utils.PluginExecutors;
+import dev.shared.utils.PluginFiles;
 import eu.darkbot.api.PluginAPI;
 import eu.darkbot.api.game.galaxy.GalaxyGate;
 import eu.darkbot.api.game.galaxy.GalaxyInfo;
@@ -12,7 +25,17 @@ import eu.darkbot.api.game.galaxy.GateInfo;
 import eu.darkbot.api.managers.GalaxySpinnerAPI;
 import eu.darkbot.util.Timer;
 
+/**
+ * Builds the gate with the galaxy spinner. The spinner requests run in the background,
+ * so the module tick never waits for them: their results are applied by a later tick.
+ */
 public final class GateBuilder {
+    private static final long RETRY_DELAY_MS = 1_000L;
+    private static final long MAX_RETRY_DELAY_MS = 16_000L;
+    private static final int MAX_RETRIES = 5;
+    private static final String SPIN_LOG_FILE = "spin_outcomes.csv";
+    private static final String SPIN_LOG_HEADER = "spins,multi,multiplier,parts,remaining";
+
     public enum BuildState {
         NONE,
         PREPARE,
@@ -29,12 +52,20 @@ public final class GateBuilder {
     private final Timer moveShipTimer = Timer.get(30_000L);
     private final Timer globalTimer = Timer.get(60_000L);
 
-    private int galaxyInfoFailCount = 0;
+    private final ExecutorService executor = PluginExecutors.singleThread("SimpleGG-GateBuilder");
+    private CompletableFuture<Runnable> pendingCall = null;
+    private volatile int epoch = 0; // Changed by reset, older requests are stale
+    private GalaxyInfo galaxyInfo = null;
+    private int failedCalls = 0;
     private int shipSwitchAttempts = 0;
     private boolean switchingShip = false;
     private boolean shipOffsetPositive = true;
+    private long buildStartedAt = 0L;
     private BuildState state = BuildState.NONE;
 
+    private final SpinStrategy spinStrategy = new SpinStrategy();
+    private final StringBuilder spinLog = new StringBuilder();
+
     public GateBuilder(SimpleGalaxyGate module, PluginAPI api) {
         this.module = module;
         this.galaxyManager = api.requireAPI(GalaxySpinnerAPI.class);
@@ -49,10 +80,17 @@ public final class GateBuilder {
     }
 
     public void reset() {
+        this.flushSpinLog();
         this.state = BuildState.NONE;
         this.switchingShip = false;
         this.shipSwitchAttempts = 0;
-        this.galaxyInfoFailCount = 0;
+        this.epoch++; // The result of a running request is dropped
+        if (this.pendingCall != null) {
+            this.pendingCall.cancel(false); // A queued request isn't sent
+            this.pendingCall = null;
+        }
+        this.galaxyInfo = null;
+        this.failedCalls = 0;
         this.spinTimer.disarm();
         this.placeTimer.disarm();
         this.moveShipTimer.disarm();
@@ -73,12 +111,17 @@ public final class GateBuilder {
             return true; // In timeout period, skip building
         }
 
+        if (this.handlePendingCall()) {
+            return true; // Waiting for the galaxy spinner
+        }
+
         if (this.state == BuildState.EXIT) {
             this.globalTimer.disarm(); // Reset global timer when exiting build state
             return false; // Finished building
         }
 
         if (this.state == BuildState.END) {
+            this.flushSpinLog();
             this.handleShipSwitch(this.module.getConfig().builder.switchShip.shipForGate, BuildState.EXIT);
             return true; // Switch back to gate ship after building
         }
@@ -87,22 +130,12 @@ public final class GateBuilder {
             return true;
         }
 
-        Boolean updated = this.galaxyManager.updateGalaxyInfos(500);
-        if (Boolean.FALSE.equals(updated)) {
-            this.spinTimer.activate(1_000L);
-            this.handleGalaxyInfoFetchFailure();
-            return true;
-        }
-
-        GalaxyInfo info = this.galaxyManager.getGalaxyInfo();
+        GalaxyInfo info = this.galaxyInfo; // Replaced after a spin, fetched again after a placement
         if (info == null) {
-            this.spinTimer.activate(1_000L);
-            this.handleGalaxyInfoFetchFailure();
+            this.requestGalaxyInfo();
             return true;
         }
 
-        this.galaxyInfoFailCount = 0; // Reset fail count on success
-
         if (this.isGateBuiltOnMap(info, targetGate)) {
             this.handleBuiltGateState();
             return true;
@@ -133,24 +166,158 @@ public final class GateBuilder {
      * Performs the gate spinning cycle.
      */
     private void performGateSpinCycle(GalaxyInfo info, GalaxyGate targetGate) {
-        double progress = this.getProgress(info, targetGate);
-        SpinOption spinOption = this.getSpinOption(progress);
-        long waitTime = (spinOption.waitMs * this.module.getConfig().builder.speed.multiplier);
+        SimpleGalaxyGateConfig.BuilderSettings builder = this.module.getConfig().builder;
         int currentMulti = info.getGateInfo(targetGate).getMultiplier();
         if (currentMulti >= 1 && currentMulti <= 5) {
             // Adjust known buggy values from the upstream API:
             // API may return 1..5 instead of the actual multiplier 2..6.
             currentMulti++;
         }
-        boolean useMulti = (currentMulti >= this.module.getConfig().builder.useMultiAt);
+        int remaining = this.getRemainingParts(info, targetGate);
+        boolean useMulti;
+        SpinOption spinOption;
+        if (builder.adaptiveSpins && this.spinStrategy.isLearned()) {
+            useMulti = this.spinStrategy.shouldUseMulti(currentMulti, builder.useMultiAt, remaining);
+            SpinStrategy.Costs costs = new SpinStrategy.Costs(this.getAffordableSpins(info),
+                    Math.max(0, info.getEnergyCost()), builder.speed.multiplier, builder.uriPerSecond);
+            int spins = this.spinStrategy.chooseBatch(remaining, currentMulti, useMulti, costs);
+            spinOption = new SpinOption(0.0, spins, SpinStrategy.waitMs(spins));
+        } else {
+            useMulti = (currentMulti >= builder.useMultiAt);
+            spinOption = this.getSpinOption(this.getProgress(info, targetGate));
+        }
+        long waitTime = (spinOption.waitMs * builder.speed.multiplier);
 
         this.spinTimer.activate(waitTime);
-        this.galaxyManager.spinGate(targetGate, useMulti, spinOption.spins, 10)
-                .ifPresent(success -> this.globalTimer.disarm()); // Reset global timer on successful spin
+        int spins = spinOption.spins;
+        int multiplier = currentMulti;
+        int partsBefore = this.getCurrentParts(info, targetGate);
+        this.submit(() -> {
+            long requestedAt = System.currentTimeMillis();
+            boolean spun = this.galaxyManager.spinGate(targetGate, useMulti, spins, 10).isPresent();
+            long requestMs = System.currentTimeMillis() - requestedAt;
+            // The spin response updates the galaxy info
+            GalaxyInfo after = spun ? this.galaxyManager.getGalaxyInfo() : null;
+            int parts = after != null ? this.getCurrentParts(after, targetGate) - partsBefore : -1;
+            return () -> {
+                this.module.telemetry.recordSpinRequest(requestMs);
+                this.galaxyInfo = after; // Fetched again when the spin failed
+                if (spun) {
+                    this.globalTimer.disarm(); // Reset global timer on successful spin
+                    this.observeSpin(spins, useMulti, multiplier, parts, remaining);
+                }
+            };
+        });
 
         this.moveShipPeriodically(); // Move ship to avoid AFK
     }
 
+    /**
+     * Learns the parts gained by the spin.
+     */
+    private void observeSpin(int spins, boolean useMulti, int multiplier, int parts, int remaining) {
+        if (parts < 0) {
+            return; // Gate finished and reset in between, or no galaxy info
+        }
+        this.spinStrategy.record(spins, multiplier, useMulti, parts);
+        if (this.module.getConfig().other.recordSpins) {
+            this.spinLog.append(spins).append(',').append(useMulti ? 1 : 0).append(',').append(multiplier)
+                    .append(',').append(parts).append(',').append(remaining).append('\n');
+        }
+    }
+
+    /**
+     * Appends the recorded spin outcomes to the CSV file in the background, for the offline spin simulator.
+     */
+    private void flushSpinLog() {
+        if (this.spinLog.length() == 0) {
+            return;
+        }
+        String lines = this.spinLog.toString();
+        this.spinLog.setLength(0);
+        try {
+            this.executor.execute(() -> writeSpinLog(lines));
+        } catch (RejectedExecutionException e) {
+            System.out.println("Spin outcomes not written: " + e.getMessage());
+        }
+    }
+
+    private static void writeSpinLog(String lines) {
+        try {
+            Path file = PluginFiles.resolve(SPIN_LOG_FILE);
+            String content = Files.exists(file) ? lines : SPIN_LOG_HEADER + "\n" + lines;
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.out.println("Spin outcomes not written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the galaxy info in the background, used by the next decision.
+     */
+    private void requestGalaxyInfo() {
+        this.submit(() -> {
+            Boolean updated = this.galaxyManager.updateGalaxyInfos(500);
+            GalaxyInfo info = Boolean.FALSE.equals(updated) ? null : this.galaxyManager.getGalaxyInfo();
+            return () -> {
+                if (info == null) {
+                    this.handleCallFailure();
+                    return;
+                }
+                this.failedCalls = 0; // Reset fail count on success
+                this.galaxyInfo = info;
+            };
+        });
+    }
+
+    /**
+     * Runs a galaxy spinner request in the background.
+     *
+     * @param request returns what to do with the result, run by the tick after it completes
+     *                unless the builder was reset meanwhile
+     */
+    private void submit(Supplier<Runnable> request) {
+        int submittedEpoch = this.epoch;
+        try {
+            this.pendingCall = CompletableFuture.supplyAsync(() -> {
+                Runnable completion = request.get();
+                return () -> {
+                    if (submittedEpoch == this.epoch) {
+                        completion.run();
+                    }
+                };
+            }, this.executor);
+        } catch (RejectedExecutionException e) {
+            System.out.println("Galaxy spinner request not sent: " + e.getMessage());
+            this.handleCallFailure();
+        }
+    }
+
+    /**
+     * Applies the result of the running request once completed.
+     *
+     * @return true if a request was running, so the tick waits for the next one
+     */
+    private boolean handlePendingCall() {
+        if (this.pendingCall == null) {
+            return false;
+        }
+        if (!this.pendingCall.isDone()) {
+            return true;
+        }
+        Runnable completion;
+        try {
+            completion = this.pendingCall.join();
+        } catch (CompletionException | CancellationException e) {
+            System.out.println("Galaxy spinner request failed: " + e.getMessage());
+            completion = this::handleCallFailure;
+        }
+        this.pendingCall = null;
+        completion.run();
+        return true;
+    }
+
     /**
      * Checks whether building is unavailable due to config or state.
      */
@@ -158,8 +325,8 @@ public final class GateBuilder {
         return this.module.getConfig() == null
                 || !this.module.getConfig().builder.enabled
                 || !this.module.backpageHelper.isValid()
-                || (StateStore.current() != StateStore.State.WAITING
-                        && StateStore.current() != StateStore.State.BUILDING);
+                || (this.module.stateStore.current() != StateStore.State.WAITING
+                        && this.module.stateStore.current() != StateStore.State.BUILDING);
     }
 
     /**
@@ -170,6 +337,7 @@ public final class GateBuilder {
             // Wait before start build (also helps to prevent the builder stuck)
             this.spinTimer.activate(5_000L);
             this.state = BuildState.PREPARE;
+            this.buildStartedAt = System.currentTimeMillis();
             return true;
         }
         return false;
@@ -344,6 +512,9 @@ public final class GateBuilder {
         }
 
         // Gate already built
+        if (this.state != BuildState.END) {
+            this.module.telemetry.recordBuild(System.currentTimeMillis() - this.buildStartedAt);
+        }
         this.state = BuildState.END;
     }
 
@@ -352,11 +523,17 @@ public final class GateBuilder {
      */
     private void handleGatePlacement(GalaxyGate gate) {
         if (this.placeTimer.isInactive()) {
-            if (this.galaxyManager.placeGate(gate, 100)) {
-                this.spinTimer.activate(5_000L);
-            } else {
-                this.placeTimer.activate(1_000L);
-            }
+            this.submit(() -> {
+                boolean placed = this.galaxyManager.placeGate(gate, 100);
+                return () -> {
+                    this.galaxyInfo = null; // The placed gate changes the galaxy info
+                    if (placed) {
+                        this.spinTimer.activate(5_000L);
+                    } else {
+                        this.placeTimer.activate(1_000L);
+                    }
+                };
+            });
         }
     }
 
@@ -392,6 +569,46 @@ public final class GateBuilder {
         }
     }
 
+    /**
+     * Gets the obtained parts of the target gate(s).
+     */
+    private int getCurrentParts(GalaxyInfo info, GalaxyGate targetGate) {
+        if (targetGate == GalaxyGate.ALPHA) {
+            return info.getGateInfo(GalaxyGate.ALPHA).getCurrentParts()
+                    + info.getGateInfo(GalaxyGate.BETA).getCurrentParts()
+                    + info.getGateInfo(GalaxyGate.GAMMA).getCurrentParts();
+        }
+        return info.getGateInfo(targetGate).getCurrentParts();
+    }
+
+    /**
+     * Gets the parts still missing for the target gate(s).
+     */
+    private int getRemainingParts(GalaxyInfo info, GalaxyGate targetGate) {
+        if (targetGate == GalaxyGate.ALPHA) {
+            return this.getRemainingParts(info.getGateInfo(GalaxyGate.ALPHA))
+                    + this.getRemainingParts(info.getGateInfo(GalaxyGate.BETA))
+                    + this.getRemainingParts(info.getGateInfo(GalaxyGate.GAMMA));
+        }
+        return this.getRemainingParts(info.getGateInfo(targetGate));
+    }
+
+    private int getRemainingParts(GateInfo gi) {
+        return Math.max(0, gi.getTotalParts() - gi.getCurrentParts());
+    }
+
+    /**
+     * Gets the number of spins affordable with extra energy and uridium within the limits.
+     */
+    private int getAffordableSpins(GalaxyInfo info) {
+        SimpleGalaxyGateConfig.BuilderSettings builder = this.module.getConfig().builder;
+        int spins = Math.max(0, info.getFreeEnergy());
+        if (builder.useExtraEnergyOnly || info.getEnergyCost() <= 0 || info.getEnergyCost() > builder.maxSpinCost) {
+            return spins;
+        }
+        return spins + Math.max(0, (info.getUridium() - builder.minUriBalance) / info.getEnergyCost());
+    }
+
     /**
      * Calculate the progress ratio for a specific gate.
      */
@@ -449,16 +666,19 @@ public final class GateBuilder {
     }
 
     /**
-     * Handles failures in fetching galaxy info by counting consecutive failures
-     * and refreshing the game if too many occur.
+     * Handles failed galaxy spinner requests by retrying with exponential backoff (1s, 2s, 4s...)
+     * and refreshing the game if too many consecutive failures occur.
      */
-    private void handleGalaxyInfoFetchFailure() {
-        this.galaxyInfoFailCount++;
-        if (this.galaxyInfoFailCount > 10) {
-            System.out.println("Failed to fetch galaxy info for 10 consecutive times, refreshing the game...");
+    private void handleCallFailure() {
+        this.failedCalls++;
+        if (this.failedCalls > MAX_RETRIES) {
+            System.out.println("Galaxy spinner failed " + MAX_RETRIES + " consecutive times, refreshing the game...");
             this.module.bot.handleRefresh();
-            this.galaxyInfoFailCount = 0;
+            this.failedCalls = 0;
+            this.spinTimer.activate(RETRY_DELAY_MS);
+            return;
         }
+        this.spinTimer.activate(Math.min(RETRY_DELAY_MS << (this.failedCalls - 1), MAX_RETRY_DELAY_MS));
     }
 
     /**
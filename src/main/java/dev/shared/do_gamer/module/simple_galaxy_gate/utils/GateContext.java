@@ -0,0 +1,65 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.Map;
+import java.util.Objects;
+
+import dev.shared.do_gamer.module.simple_galaxy_gate.SimpleGalaxyGate;
+import dev.shared.do_gamer.module.simple_galaxy_gate.config.Maps;
+
+/**
+ * Gate handler bound to the configured gate, resolved again only when the gate changes.
+ * Handlers keep state, so each module instance keeps its own handlers.
+ */
+public final class GateContext {
+    private final Integer gateId;
+    private final GateHandler handler;
+    private final String mapName;
+
+    public GateContext(Integer gateId, GateHandler handler) {
+        this.gateId = gateId;
+        this.handler = Objects.requireNonNull(handler, "handler must not be null");
+        this.mapName = Maps.mapNameForGate(gateId);
+    }
+
+    /**
+     * Context of the gate, reusing the module handler created for it before.
+     *
+     * @param handlers handlers of the module by gate ID, -1 without gate
+     */
+    public static GateContext resolve(Integer gateId, Map<Integer, GateHandler> handlers, SimpleGalaxyGate module) {
+        GateHandler handler = handlers.computeIfAbsent(gateId != null ? gateId : -1,
+                key -> Maps.createGateHandler(gateId));
+        handler.setModule(module);
+        return new GateContext(gateId, handler);
+    }
+
+    /**
+     * Checks if this context was resolved for the gate ID.
+     */
+    public boolean isFor(Integer gateId) {
+        return Objects.equals(this.gateId, gateId);
+    }
+
+    public Integer getGateId() {
+        return this.gateId;
+    }
+
+    public GateHandler getHandler() {
+        return this.handler;
+    }
+
+    /**
+     * Gets the gate name, null when no gate is configured.
+     */
+    public String getMapName() {
+        return this.mapName;
+    }
+
+    /**
+     * Gets the status details of the handler, null when there are none to show.
+     */
+    public String getStatusDetails() {
+        String details = this.handler.getStatusDetails();
+        return details != null && !details.isEmpty() ? details : null;
+    }
+}
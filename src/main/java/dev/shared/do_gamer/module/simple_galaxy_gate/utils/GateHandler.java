@@ -49,6 +49,10 @@ public class GateHandler {
     protected String statusDetails = null;
     protected boolean useGuardableNpcAsSearchLocation = false;
     private Npc cachedGuardableNpc = null;
+    private String[] npcPatterns = null;
+    private NpcParam[] npcPatternParams = null;
+    private final Map<String, NpcParam> resolvedNpcParams = new HashMap<>();
+    private static final NpcParam NO_MATCH = new NpcParam(0.0);
 
     // Enum to represent the decision on whether to kill an NPC
     public enum KillDecision {
@@ -171,12 +175,10 @@ public class GateHandler {
             return npcInfo.getRadius();
         }
 
-        // Check if the NPC name contains any of the specified substrings
-        String npcName = target.getEntityInfo().getUsername();
-        for (Map.Entry<String, NpcParam> entry : this.npcMap.entrySet()) {
-            if (npcName.contains(entry.getKey())) {
-                return this.populateNpcInfo(npcInfo, entry.getValue());
-            }
+        // Resolve the params once per NPC name
+        NpcParam params = this.resolveNpcParam(target.getEntityInfo().getUsername());
+        if (params != null) {
+            return this.populateNpcInfo(npcInfo, params);
         }
 
         // Populate default params
@@ -187,20 +189,54 @@ public class GateHandler {
         return 0.0;
     }
 
+    /**
+     * Finds the params of the first npcMap pattern contained in the name.
+     * Results are memoized per name, as the map is only filled in constructors.
+     */
+    private NpcParam resolveNpcParam(String npcName) {
+        NpcParam params = this.resolvedNpcParams.get(npcName);
+        if (params == null) {
+            if (this.npcPatterns == null) {
+                // Compile on first use, once the subclass constructor filled the map
+                this.npcPatterns = this.npcMap.keySet().toArray(new String[0]);
+                this.npcPatternParams = new NpcParam[this.npcPatterns.length];
+                for (int i = 0; i < this.npcPatterns.length; i++) {
+                    this.npcPatternParams[i] = this.npcMap.get(this.npcPatterns[i]);
+                }
+            }
+            params = NO_MATCH;
+            if (npcName != null) {
+                for (int i = 0; i < this.npcPatterns.length; i++) {
+                    if (npcName.contains(this.npcPatterns[i])) {
+                        params = this.npcPatternParams[i];
+                        break;
+                    }
+                }
+            }
+            this.resolvedNpcParams.put(npcName, params);
+        }
+        return params != NO_MATCH ? params : null;
+    }
+
     /**
      * Populates the given NpcInfo with values from the provided params.
+     * Only values that differ are written.
      */
     private final double populateNpcInfo(NpcInfo npcInfo, NpcParam params) {
-        npcInfo.setShouldKill(true);
+        if (!npcInfo.getShouldKill()) {
+            npcInfo.setShouldKill(true);
+        }
         // populate radius
-        npcInfo.setRadius(params.radius);
+        if (npcInfo.getRadius() != params.radius) {
+            npcInfo.setRadius(params.radius);
+        }
         // populate priority
-        if (params.priority != 0) {
+        if (params.priority != 0 && npcInfo.getPriority() != params.priority) {
             npcInfo.setPriority(params.priority);
         }
         // populate flags
-        if (!params.flags.isEmpty()) {
-            for (Enum<?> flag : params.flags) {
+        for (Enum<?> flag : params.flags) {
+            if (!npcInfo.hasExtraFlag(flag)) {
                 npcInfo.setExtraFlag(flag, true);
             }
         }
@@ -369,7 +405,7 @@ public class GateHandler {
         }
         if (this.safeRefreshInGate) {
             return this.module.isMapGG()
-                    && this.module.lootModule.getNpcs().isEmpty()
+                    && this.module.lootModule.getNpcSnapshot().isEmpty()
                     && this.module.collectorModule.hasNoBox()
                     && this.module.entities.getPortals().stream()
                             .anyMatch(p -> p.distanceTo(this.module.hero) < 1_000.0);
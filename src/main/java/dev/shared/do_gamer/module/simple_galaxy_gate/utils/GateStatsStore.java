@@ -0,0 +1,275 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import dev.shared.utils.PluginExecutors;
+import dev.shared.utils.PluginFiles;
+
+/**
+ * Completed gate runs per gate, kept across restarts in a JSON file per account.
+ * Used to predict the remaining time of the current gate and the gates per hour.
+ * Updated on the bot thread, read by the status too; the file is written by a
+ * background thread from a copy of the statistics.
+ */
+public final class GateStatsStore {
+    private static final String FILE = "gate_stats.json";
+    private static final int RECENT_RUNS = 20;
+    private static final double SMOOTHING = 0.2;
+    private static final long MAX_CYCLE_MS = 2 * 3_600_000L; // Longer breaks aren't part of a cycle
+    private static final long MIN_SWITCH_TIMEOUT_MS = 30_000L;
+    private static final long MAX_SWITCH_TIMEOUT_MS = 600_000L;
+    private static final Type STATS_TYPE = new TypeToken<Map<String, GateStats>>() {
+    }.getType();
+
+    /**
+     * Statistics of one gate.
+     */
+    private static final class GateStats {
+        private int runs = 0;
+        private int deaths = 0;
+        private List<Long> recentDurations = new ArrayList<>();
+        private double avgWaves = 0.0;
+        private double avgBoxMs = 0.0;
+        private double avgCycleMs = 0.0;
+        private double avgStartGapMs = 0.0;
+
+        private GateStats copy() {
+            GateStats copy = new GateStats();
+            copy.runs = this.runs;
+            copy.deaths = this.deaths;
+            copy.recentDurations = new ArrayList<>(this.recentDurations);
+            copy.avgWaves = this.avgWaves;
+            copy.avgBoxMs = this.avgBoxMs;
+            copy.avgCycleMs = this.avgCycleMs;
+            copy.avgStartGapMs = this.avgStartGapMs;
+            return copy;
+        }
+
+        private long medianDurationMs() {
+            if (this.recentDurations.isEmpty()) {
+                return -1L;
+            }
+            List<Long> sorted = new ArrayList<>(this.recentDurations);
+            Collections.sort(sorted);
+            return sorted.get(sorted.size() / 2);
+        }
+    }
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final ExecutorService writer = PluginExecutors.singleThread("SimpleGG-GateStats");
+    private int accountId = 0;
+    private Path file = null;
+    private Map<String, GateStats> stats = new HashMap<>();
+
+    // Current run
+    private String runKey = null;
+    private long runStartedAt = 0L;
+    private long runCollectingMs = 0L;
+    private int runWaves = 0;
+    private int runDeaths = 0;
+    private long lastCompletedAt = 0L;
+
+    /**
+     * Loads the statistics of the account when it changes, ids not above 0 are ignored.
+     */
+    public synchronized void setAccount(int accountId) {
+        if (accountId <= 0 || accountId == this.accountId) {
+            return;
+        }
+        this.accountId = accountId;
+        this.abortRun();
+        this.lastCompletedAt = 0L;
+        this.stats = new HashMap<>();
+        try {
+            this.file = PluginFiles.resolveForAccount(FILE, accountId);
+        } catch (IOException e) {
+            System.out.println("Gate stats not available: " + e.getMessage());
+            this.file = null;
+        }
+        this.load();
+    }
+
+    /**
+     * Drops the current run without counting it, e.g. when the bot is stopped or the gate changes.
+     */
+    public synchronized void abortRun() {
+        this.runKey = null;
+    }
+
+    /**
+     * Drops the current run when another gate is selected.
+     */
+    public synchronized void onGateSelected(Integer gateId) {
+        if (this.runKey != null && !this.runKey.equals(String.valueOf(gateId))) {
+            this.abortRun();
+        }
+    }
+
+    /**
+     * Starts a run of the gate, or continues it when returning to the gate after a death.
+     *
+     * @param collectingMs total time spent collecting so far, to measure the box pickup time of the run
+     */
+    public synchronized void onGateEntered(Integer gateId, long now, long collectingMs) {
+        String key = String.valueOf(gateId);
+        if (key.equals(this.runKey)) {
+            return;
+        }
+        this.runKey = key;
+        this.runStartedAt = now;
+        this.runCollectingMs = collectingMs;
+        this.runWaves = 0;
+        this.runDeaths = 0;
+        // Time from the previous gate until this one started, e.g. building it
+        if (this.lastCompletedAt > 0 && now - this.lastCompletedAt < MAX_CYCLE_MS) {
+            GateStats gate = this.stats.get(this.runKey);
+            if (gate != null) {
+                gate.avgStartGapMs = smooth(gate.avgStartGapMs, now - this.lastCompletedAt);
+            }
+        }
+    }
+
+    public synchronized void onWaveCleared() {
+        this.runWaves++;
+    }
+
+    public synchronized void onDeath() {
+        this.runDeaths++;
+    }
+
+    /**
+     * Completes the current run and saves the statistics.
+     */
+    public synchronized void onGateCompleted(long now, long collectingMs) {
+        if (this.runKey == null) {
+            return;
+        }
+        GateStats gate = this.stats.computeIfAbsent(this.runKey, k -> new GateStats());
+        gate.runs++;
+        gate.deaths += this.runDeaths;
+        gate.recentDurations.add(now - this.runStartedAt);
+        if (gate.recentDurations.size() > RECENT_RUNS) {
+            gate.recentDurations.remove(0);
+        }
+        gate.avgWaves = gate.runs == 1 ? this.runWaves : smooth(gate.avgWaves, this.runWaves);
+        long boxMs = collectingMs - this.runCollectingMs;
+        gate.avgBoxMs = gate.runs == 1 ? boxMs : smooth(gate.avgBoxMs, boxMs);
+        if (this.lastCompletedAt > 0 && now - this.lastCompletedAt < MAX_CYCLE_MS) {
+            gate.avgCycleMs = smooth(gate.avgCycleMs, now - this.lastCompletedAt);
+        }
+        this.lastCompletedAt = now;
+        this.runKey = null;
+        this.save();
+    }
+
+    /**
+     * Predicted time until the current run completes, -1 if unknown.
+     */
+    public synchronized long getEtaMs(long now) {
+        GateStats gate = this.runKey != null ? this.stats.get(this.runKey) : null;
+        long median = gate != null ? gate.medianDurationMs() : -1L;
+        if (median < 0) {
+            return -1L;
+        }
+        return Math.max(0L, median - (now - this.runStartedAt));
+    }
+
+    /**
+     * Expected completed gates per hour, -1 if unknown.
+     */
+    public synchronized double getGatesPerHour(Integer gateId) {
+        GateStats gate = this.stats.get(String.valueOf(gateId));
+        if (gate == null) {
+            return -1.0;
+        }
+        // Whole cycle when known (building, traveling...), otherwise only the runs
+        double cycleMs = gate.avgCycleMs > 0 ? gate.avgCycleMs : gate.medianDurationMs();
+        return cycleMs > 0 ? 3_600_000.0 / cycleMs : -1.0;
+    }
+
+    /**
+     * How long to wait for a next gate before switching profile:
+     * somewhat longer than it usually takes to start the next one.
+     */
+    public synchronized long getSwitchTimeoutMs(Integer gateId, long fallbackMs) {
+        GateStats gate = this.stats.get(String.valueOf(gateId));
+        if (gate == null || gate.avgStartGapMs <= 0) {
+            return fallbackMs;
+        }
+        long timeout = (long) (gate.avgStartGapMs * 1.5);
+        return Math.max(MIN_SWITCH_TIMEOUT_MS, Math.min(timeout, MAX_SWITCH_TIMEOUT_MS));
+    }
+
+    private static double smooth(double average, double value) {
+        return average <= 0 ? value : average + (value - average) * SMOOTHING;
+    }
+
+    private void load() {
+        if (this.file == null || !Files.exists(this.file)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+            Map<String, GateStats> loaded = this.gson.fromJson(reader, STATS_TYPE);
+            if (loaded != null) {
+                loaded.values().removeIf(gate -> gate == null || gate.recentDurations == null);
+                this.stats = new HashMap<>(loaded);
+            }
+        } catch (IOException | JsonParseException e) {
+            System.out.println("Gate stats not loaded: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a copy of the statistics on the background thread.
+     */
+    private void save() {
+        if (this.file == null) {
+            return;
+        }
+        Path target = this.file;
+        Map<String, GateStats> copy = new HashMap<>(this.stats.size() * 2);
+        this.stats.forEach((key, gate) -> copy.put(key, gate.copy()));
+        try {
+            this.writer.execute(() -> this.write(target, copy));
+        } catch (RejectedExecutionException e) {
+            System.out.println("Gate stats not saved: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the file through a temporary file so it's never half written.
+     */
+    private void write(Path target, Map<String, GateStats> stats) {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            this.gson.toJson(stats, STATS_TYPE, out);
+        } catch (IOException | JsonParseException e) {
+            System.out.println("Gate stats not saved: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.out.println("Gate stats not saved: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import dev.shared.utils.LatencyHistogram;
+import dev.shared.utils.PluginExecutors;
+import dev.shared.utils.PluginFiles;
+import eu.darkbot.util.Timer;
+
+/**
+ * Run statistics of the gates, kept per gate and map for the current day.
+ * Recording happens on the bot thread; the daily CSV file of the account is
+ * written by a background thread from a snapshot rendered on the bot thread.
+ */
+public final class GateTelemetry implements StateStore.TransitionListener {
+    public enum Metric {
+        WAVE_CLEAR,
+        REPAIRING,
+        JUMPING,
+        GATE_RUN,
+        BUILD,
+        SPIN_REQUEST
+    }
+
+    private static final String FILE_PREFIX = "gate_telemetry-";
+    private static final String FILE_SUFFIX = ".csv";
+    private static final int DATE_LENGTH = 10; // ISO date, yyyy-MM-dd
+    private static final int KEEP_DAYS = 7;
+    private static final String ANY_MAP = "*";
+    private static final String HEADER = "gate,map,metric,count,min,p50,p90,p99,max,mean";
+
+    /**
+     * Metrics of one gate map.
+     */
+    private static final class Stats {
+        private final Map<Metric, LatencyHistogram> histograms = new EnumMap<>(Metric.class);
+        private long deaths = 0L;
+        private long kamikazes = 0L;
+
+        private LatencyHistogram get(Metric metric) {
+            return this.histograms.computeIfAbsent(metric, m -> new LatencyHistogram());
+        }
+    }
+
+    private final Map<String, Map<String, Stats>> stats = new LinkedHashMap<>();
+    private final Timer exportTimer = Timer.get(60_000L);
+    private final ExecutorService writer = PluginExecutors.singleThread("SimpleGG-Telemetry");
+    private LocalDate day = LocalDate.now();
+    private boolean dirty = false;
+    private boolean export = false;
+    private int accountId = 0;
+
+    private String gate = ANY_MAP;
+    private String map = ANY_MAP;
+    private String stateMap = ANY_MAP;
+
+    /**
+     * Sets the gate and map the next records belong to.
+     */
+    public void setLocation(String gate, String map) {
+        this.gate = gate != null ? gate : ANY_MAP;
+        this.map = map != null ? map : ANY_MAP;
+    }
+
+    /**
+     * Starts over when the account changes, after writing the statistics of the
+     * previous one. Ids not above 0 are ignored.
+     */
+    public void setAccount(int accountId) {
+        if (accountId <= 0 || accountId == this.accountId) {
+            return;
+        }
+        if (this.export && this.dirty && this.accountId > 0) {
+            this.submit(this.accountId, this.day, this.render(), false);
+        }
+        this.accountId = accountId;
+        this.stats.clear();
+        this.dirty = false;
+    }
+
+    @Override
+    public void onTransition(StateStore.State from, StateStore.State to, long durationMs, long now) {
+        // Durations belong to the map the state was entered on, e.g. the map jumped from
+        if (from == StateStore.State.REPAIRING) {
+            this.record(this.stateMap, Metric.REPAIRING, durationMs);
+        } else if (from == StateStore.State.JUMPING) {
+            this.record(this.stateMap, Metric.JUMPING, durationMs);
+        }
+        this.stateMap = this.map;
+    }
+
+    public void recordWave(long durationMs) {
+        this.record(this.map, Metric.WAVE_CLEAR, durationMs);
+    }
+
+    /**
+     * Records the time from entering the gate until it was completed.
+     */
+    public void recordGateRun(long durationMs) {
+        this.record(ANY_MAP, Metric.GATE_RUN, durationMs);
+    }
+
+    /**
+     * Records the time from starting to build until the gate was ready.
+     */
+    public void recordBuild(long durationMs) {
+        this.record(ANY_MAP, Metric.BUILD, durationMs);
+    }
+
+    /**
+     * Records the response time of a spin request.
+     */
+    public void recordSpinRequest(long durationMs) {
+        this.record(ANY_MAP, Metric.SPIN_REQUEST, durationMs);
+    }
+
+    public void recordDeath() {
+        this.statsFor(this.map).deaths++;
+        this.dirty = true;
+    }
+
+    public void recordKamikaze() {
+        this.statsFor(this.map).kamikazes++;
+        this.dirty = true;
+    }
+
+    /**
+     * Exports the statistics once a minute when enabled, starts over on a new day.
+     */
+    public void tick(boolean export) {
+        this.export = export;
+        LocalDate today = LocalDate.now();
+        boolean newDay = !today.equals(this.day);
+        if (!newDay && (!export || this.exportTimer.isActive())) {
+            return;
+        }
+        this.exportTimer.activate();
+
+        if (export && this.dirty && this.accountId > 0) {
+            this.submit(this.accountId, this.day, this.render(), newDay);
+        }
+        if (newDay) {
+            this.stats.clear();
+            this.day = today;
+        }
+        this.dirty = false;
+    }
+
+    private void record(String map, Metric metric, long durationMs) {
+        this.statsFor(map).get(metric).record(durationMs);
+        this.dirty = true;
+    }
+
+    private Stats statsFor(String map) {
+        return this.stats.computeIfAbsent(this.gate, g -> new LinkedHashMap<>())
+                .computeIfAbsent(map, m -> new Stats());
+    }
+
+    /**
+     * Renders the CSV content of the current statistics.
+     */
+    private String render() {
+        StringBuilder csv = new StringBuilder(4_096).append(HEADER).append('\n');
+        for (Map.Entry<String, Map<String, Stats>> gateEntry : this.stats.entrySet()) {
+            for (Map.Entry<String, Stats> mapEntry : gateEntry.getValue().entrySet()) {
+                Stats mapStats = mapEntry.getValue();
+                for (Map.Entry<Metric, LatencyHistogram> metric : mapStats.histograms.entrySet()) {
+                    LatencyHistogram h = metric.getValue();
+                    this.appendRow(csv, gateEntry.getKey(), mapEntry.getKey(), metric.getKey().name(), h.getCount())
+                            .append(',').append(h.getMin())
+                            .append(',').append(h.getValueAtPercentile(50))
+                            .append(',').append(h.getValueAtPercentile(90))
+                            .append(',').append(h.getValueAtPercentile(99))
+                            .append(',').append(h.getMax())
+                            .append(',').append(h.getMean())
+                            .append('\n');
+                }
+                if (mapStats.deaths > 0) {
+                    this.appendRow(csv, gateEntry.getKey(), mapEntry.getKey(), "DEATHS", mapStats.deaths)
+                            .append(",,,,,,\n");
+                }
+                if (mapStats.kamikazes > 0) {
+                    this.appendRow(csv, gateEntry.getKey(), mapEntry.getKey(), "KAMIKAZE", mapStats.kamikazes)
+                            .append(",,,,,,\n");
+                }
+            }
+        }
+        return csv.toString();
+    }
+
+    private StringBuilder appendRow(StringBuilder csv, String gate, String map, String metric, long count) {
+        return csv.append(this.escape(gate)).append(',').append(this.escape(map))
+                .append(',').append(metric).append(',').append(count);
+    }
+
+    private String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void submit(int accountId, LocalDate day, String content, boolean cleanup) {
+        try {
+            this.writer.execute(() -> {
+                write(accountId, day, content);
+                if (cleanup) {
+                    deleteOldFiles(day);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.out.println("Gate telemetry not written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the file of the account and day, through a temporary file so it's never half written.
+     */
+    private static void write(int accountId, LocalDate day, String content) {
+        try {
+            Path file = PluginFiles.resolveForAccount(FILE_PREFIX + day + FILE_SUFFIX, accountId);
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, content.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.out.println("Gate telemetry not written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the files of every account older than the kept days.
+     */
+    private static void deleteOldFiles(LocalDate today) {
+        String oldest = today.minusDays(KEEP_DAYS).toString();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(PluginFiles.resolve("").toAbsolutePath(),
+                FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.length() < FILE_PREFIX.length() + DATE_LENGTH) {
+                    continue;
+                }
+                // ISO dates sort by name, the account id follows the date
+                String date = name.substring(FILE_PREFIX.length(), FILE_PREFIX.length() + DATE_LENGTH);
+                if (date.compareTo(oldest) < 0) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Old gate telemetry not deleted: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.Arrays;
+
+/**
+ * Geometry helpers to find groups of NPCs worth a kamikaze detonation.
+ * Points are passed as plain coordinate arrays, only the first {@code n} are used.
+ */
+public final class KamikazeClusters {
+
+    private KamikazeClusters() {
+    }
+
+    /**
+     * Largest distance between any two points, measured on their convex hull.
+     */
+    public static double diameter(double[] xs, double[] ys, int n) {
+        if (n < 2) {
+            return 0.0;
+        }
+        int[] hull = convexHull(xs, ys, n);
+        double max = 0.0;
+        // The hull of a tight group has only a handful of vertices
+        for (int i = 0; i < hull.length; i++) {
+            for (int j = i + 1; j < hull.length; j++) {
+                double dx = xs[hull[i]] - xs[hull[j]];
+                double dy = ys[hull[i]] - ys[hull[j]];
+                max = Math.max(max, dx * dx + dy * dy);
+            }
+        }
+        return Math.sqrt(max);
+    }
+
+    /**
+     * Finds the densest group of points that fits in a circle of the given radius
+     * centered on one of the points, ignoring points farther than maxDistance from
+     * the origin. Member indices are written to {@code members}.
+     *
+     * @return the number of members found
+     */
+    public static int densest(double[] xs, double[] ys, int n, double radius,
+            double originX, double originY, double maxDistance, int[] members) {
+        Integer[] order = new Integer[n];
+        int count = 0;
+        double maxDistanceSq = maxDistance * maxDistance;
+        for (int i = 0; i < n; i++) {
+            double dx = xs[i] - originX;
+            double dy = ys[i] - originY;
+            if (dx * dx + dy * dy <= maxDistanceSq) {
+                order[count++] = i;
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(order, 0, count, (a, b) -> Double.compare(xs[a], xs[b]));
+
+        // Sweep along X, only points inside the [x - radius, x + radius] window can be members
+        double radiusSq = radius * radius;
+        int bestCenter = -1;
+        int bestSize = 0;
+        int windowStart = 0;
+        for (int c = 0; c < count; c++) {
+            int center = order[c];
+            while (xs[order[windowStart]] < xs[center] - radius) {
+                windowStart++;
+            }
+            int size = 0;
+            for (int k = windowStart; k < count && xs[order[k]] <= xs[center] + radius; k++) {
+                double dx = xs[order[k]] - xs[center];
+                double dy = ys[order[k]] - ys[center];
+                if (dx * dx + dy * dy <= radiusSq) {
+                    size++;
+                }
+            }
+            if (size > bestSize) {
+                bestSize = size;
+                bestCenter = center;
+            }
+        }
+
+        int size = 0;
+        for (int k = 0; k < count; k++) {
+            double dx = xs[order[k]] - xs[bestCenter];
+            double dy = ys[order[k]] - ys[bestCenter];
+            if (dx * dx + dy * dy <= radiusSq) {
+                members[size++] = order[k];
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Indices of the convex hull vertices (Andrew's monotone chain).
+     */
+    private static int[] convexHull(double[] xs, double[] ys, int n) {
+        Integer[] sorted = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (a, b) -> xs[a] != xs[b] ? Double.compare(xs[a], xs[b]) : Double.compare(ys[a], ys[b]));
+
+        int[] hull = new int[2 * n];
+        int k = 0;
+        // Lower hull
+        for (int i = 0; i < n; i++) {
+            while (k >= 2 && cross(xs, ys, hull[k - 2], hull[k - 1], sorted[i]) <= 0) {
+                k--;
+            }
+            hull[k++] = sorted[i];
+        }
+        // Upper hull
+        for (int i = n - 2, lower = k + 1; i >= 0; i--) {
+            while (k >= lower && cross(xs, ys, hull[k - 2], hull[k - 1], sorted[i]) <= 0) {
+                k--;
+            }
+            hull[k++] = sorted[i];
+        }
+        // Last point equals the first one
+        return Arrays.copyOf(hull, Math.max(k - 1, 1));
+    }
+
+    private static double cross(double[] xs, double[] ys, int o, int a, int b) {
+        return (xs[a] - xs[o]) * (ys[b] - ys[o]) - (ys[a] - ys[o]) * (xs[b] - xs[o]);
+    }
+}
@@ -1,14 +1,12 @@
 package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.WeakHashMap;
-import java.util.stream.Collectors;
 
 import dev.shared.do_gamer.module.simple_galaxy_gate.CustomLootModule;
+import dev.shared.do_gamer.module.simple_galaxy_gate.config.Defaults;
 import dev.shared.do_gamer.module.simple_galaxy_gate.config.GateNpcFlag;
-import dev.shared.do_gamer.module.simple_galaxy_gate.config.Maps;
 import dev.shared.do_gamer.module.simple_galaxy_gate.config.SimpleGalaxyGateConfig;
 import dev.shared.do_gamer.utils.PetGearHelper;
 import eu.darkbot.api.PluginAPI;
@@ -30,16 +28,22 @@ public final class KamikazeHandler {
     private final PetAPI pet;
     private final GroupAPI group;
     private final PetGearHelper petGearHelper;
+    private final StateStore stateStore;
 
     private SimpleGalaxyGateConfig config;
     private GateHandler gateHandler;
+    private GateTelemetry telemetry;
 
     private Stage stage = Stage.PRIMED;
     private final Timer timer = Timer.get();
-    private final Map<Npc, Long> lastAiming = new WeakHashMap<>();
+    private final AimHistory aimHistory = new AimHistory();
+    private long now = 0L;
     private final Timer delay = Timer.get(5_000L);
     private final Timer stuckTimer = Timer.get(10_000L);
     private final Timer detonateTimer = Timer.get(10_000L);
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private int[] members = new int[0];
 
     private static final double MAX_DISTANCE = 3_000.0;
     private static final double RADIUS = 1_500.0;
@@ -50,8 +54,9 @@ public final class KamikazeHandler {
         INACTIVE, PRIMED, ACTIVE
     }
 
-    public KamikazeHandler(CustomLootModule lootModule, PluginAPI api) {
+    public KamikazeHandler(CustomLootModule lootModule, PluginAPI api, StateStore stateStore) {
         this.lootModule = lootModule;
+        this.stateStore = stateStore;
         this.hero = api.requireAPI(HeroAPI.class);
         this.movement = api.requireAPI(MovementAPI.class);
         this.pet = api.requireAPI(PetAPI.class);
@@ -67,13 +72,18 @@ public final class KamikazeHandler {
         this.gateHandler = gateHandler;
     }
 
+    public void setTelemetry(GateTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
     public boolean tick() {
         if (this.config == null || !this.config.kamikaze.enabled || !this.petGearHelper.isEnabled()) {
             return false;
         }
+        this.now = System.currentTimeMillis(); // Single clock sample per tick
 
         // Reset to primed state when waiting in gate
-        if (StateStore.current() == StateStore.State.WAITING_IN_GATE) {
+        if (this.stateStore.current() == StateStore.State.WAITING_IN_GATE) {
             this.setPrimed();
         }
 
@@ -122,9 +132,9 @@ public final class KamikazeHandler {
      */
     private double centerX() {
         if (this.gateHandler == null) {
-            return Maps.getMapCenterX();
+            return Defaults.MAP_CENTER_X;
         }
-        return Maps.getMapCenterX() + this.gateHandler.getKamikazeOffsetX();
+        return this.gateHandler.getMapCenterX() + this.gateHandler.getKamikazeOffsetX();
     }
 
     /**
@@ -132,9 +142,9 @@ public final class KamikazeHandler {
      */
     private double centerY() {
         if (this.gateHandler == null) {
-            return Maps.getMapCenterY();
+            return Defaults.MAP_CENTER_Y;
         }
-        return Maps.getMapCenterY() + this.gateHandler.getKamikazeOffsetY();
+        return this.gateHandler.getMapCenterY() + this.gateHandler.getKamikazeOffsetY();
     }
 
     /**
@@ -195,6 +205,9 @@ public final class KamikazeHandler {
 
     private void setActive() {
         this.stage = Stage.ACTIVE;
+        if (this.telemetry != null) {
+            this.telemetry.recordKamikaze();
+        }
     }
 
     private void setInactive() {
@@ -221,34 +234,36 @@ public final class KamikazeHandler {
      * Checks if the NPC has been recently aiming at the hero last second.
      */
     private boolean recentlyAimingAtHero(Npc npc) {
-        if (npc.isAiming(this.hero)) {
-            this.lastAiming.put(npc, System.currentTimeMillis());
-            return true;
-        }
-        Long last = this.lastAiming.get(npc);
-        if (last != null && System.currentTimeMillis() - last <= 1_000L) {
-            return true;
-        }
-        this.lastAiming.remove(npc);
-        return false;
+        this.aimHistory.record(npc.getId(), this.now, npc.isAiming(this.hero));
+        return this.aimHistory.aimedWithin(npc.getId(), this.now, 1_000L);
     }
 
     /**
      * Returns the list of valid kamikaze targets filtered by the given mode.
      */
     private List<Npc> getValidTargets(boolean cornerMode) {
-        return this.lootModule.getNpcs().stream()
-                .filter(npc -> this.isValidTarget(npc, cornerMode))
-                .collect(Collectors.toList());
+        List<Npc> targets = new ArrayList<>();
+        for (Npc npc : this.lootModule.getNpcs()) {
+            if (this.isValidTarget(npc, cornerMode)) {
+                targets.add(npc);
+            }
+        }
+        return targets;
     }
 
     /**
      * Checks if all kamikaze-flagged NPCs are outside MAX_DISTANCE from the center.
      */
     private boolean areAllNpcsFarFromCenter() {
-        return this.lootModule.getNpcs().stream()
-                .filter(npc -> npc.getInfo().hasExtraFlag(GateNpcFlag.KAMIKAZE))
-                .allMatch(npc -> npc.distanceTo(this.centerX(), this.centerY()) > MAX_DISTANCE);
+        double centerX = this.centerX();
+        double centerY = this.centerY();
+        for (Npc npc : this.lootModule.getNpcs()) {
+            if (npc.getInfo().hasExtraFlag(GateNpcFlag.KAMIKAZE)
+                    && npc.distanceTo(centerX, centerY) <= MAX_DISTANCE) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -281,7 +296,7 @@ public final class KamikazeHandler {
 
         // Use kamikaze config
         this.hero.setMode(this.config.kamikaze.shipMode);
-        StateStore.request(StateStore.State.KAMIKAZE);
+        this.stateStore.request(StateStore.State.KAMIKAZE);
     }
 
     /**
@@ -353,15 +368,17 @@ public final class KamikazeHandler {
         if (!this.hasCooldown() && this.petReadyForKamikaze()
                 && this.hero.getHealth().hpPercent() >= this.config.kamikaze.hpRange.getMax()
                 && this.hero.getHealth().shieldPercent() >= this.config.kamikaze.shieldRange.getMax()) {
-            // Lock the closest target
-            this.lockClosestTarget(validTargets);
-            // Check if NPCs are close enough to each other
-            if (this.isNpcsCloseEnough(validTargets)) {
+            // Lock a target inside a group of NPCs close enough to each other
+            Npc clusterTarget = this.findClusterTarget(validTargets);
+            if (clusterTarget != null) {
+                this.lockTarget(clusterTarget);
                 if (this.delay.isInactive()) {
                     this.setActive();
                 }
                 return true;
             }
+            // Otherwise lock the closest target
+            this.lockClosestTarget(validTargets);
             // Additional delay for primed attempt to wait next wave of NPCs
             if (this.isPrimed()) {
                 this.delay.activate();
@@ -400,20 +417,40 @@ public final class KamikazeHandler {
     }
 
     /**
-     * Checks if the NPCs are close enough to each other for kamikaze.
+     * Finds the target to detonate on: the closest NPC when all of them are close
+     * enough to each other, otherwise the closest NPC of the densest group within
+     * reach, if that group is big enough.
      */
-    private boolean isNpcsCloseEnough(List<Npc> validTargets) {
-        double maxPairDist = 0.0;
+    private Npc findClusterTarget(List<Npc> validTargets) {
         int size = validTargets.size();
+        if (this.xs.length < size) {
+            this.xs = new double[size];
+            this.ys = new double[size];
+            this.members = new int[size];
+        }
         for (int i = 0; i < size; i++) {
-            for (int j = i + 1; j < size; j++) {
-                double dist = validTargets.get(i).distanceTo(validTargets.get(j));
-                if (dist > maxPairDist) {
-                    maxPairDist = dist;
-                }
+            this.xs[i] = validTargets.get(i).getX();
+            this.ys[i] = validTargets.get(i).getY();
+        }
+
+        if (KamikazeClusters.diameter(this.xs, this.ys, size) <= MAX_PAIR_DISTANCE) {
+            return this.getClosestTarget(validTargets);
+        }
+
+        // A circle of half the pair distance keeps every member pair within it
+        int found = KamikazeClusters.densest(this.xs, this.ys, size, MAX_PAIR_DISTANCE / 2.0,
+                this.hero.getX(), this.hero.getY(), MAX_DISTANCE, this.members);
+        if (found < this.config.kamikaze.minNpcs) {
+            return null;
+        }
+        Npc closest = null;
+        for (int i = 0; i < found; i++) {
+            Npc npc = validTargets.get(this.members[i]);
+            if (closest == null || npc.distanceTo(this.hero) < closest.distanceTo(this.hero)) {
+                closest = npc;
             }
         }
-        return maxPairDist <= MAX_PAIR_DISTANCE;
+        return closest;
     }
 
     /**
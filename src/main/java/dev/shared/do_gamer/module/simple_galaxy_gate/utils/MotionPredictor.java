@@ -0,0 +1,115 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import eu.darkbot.api.game.entities.Entity;
+
+/**
+ * Short position history per entity, used to predict where moving
+ * entities will be in the near future (linear extrapolation).
+ */
+public final class MotionPredictor {
+    public static final long SHORT_AHEAD_MS = 250L;
+    public static final long LONG_AHEAD_MS = 1_000L;
+
+    private static final int HISTORY = 4;
+    private static final long MAX_SPAN_MS = 1_000L;
+    private static final long STALE_MS = 2_000L;
+
+    private final Map<Integer, Track> tracks = new HashMap<>();
+
+    /**
+     * Records the entity position for the tick at the given time.
+     */
+    public void update(Entity entity, long now) {
+        Track track = this.tracks.computeIfAbsent(entity.getId(), id -> new Track());
+        track.add(entity.getX(), entity.getY(), now);
+    }
+
+    /**
+     * Forgets entities that were not updated recently.
+     */
+    public void prune(long now) {
+        this.tracks.values().removeIf(t -> now - t.lastTime() > STALE_MS);
+    }
+
+    /**
+     * Predicted X coordinate of the entity after the given time.
+     */
+    public double predictX(Entity entity, long aheadMs) {
+        Track track = this.tracks.get(entity.getId());
+        return track != null ? entity.getX() + track.velocityX() * aheadMs : entity.getX();
+    }
+
+    /**
+     * Predicted Y coordinate of the entity after the given time.
+     */
+    public double predictY(Entity entity, long aheadMs) {
+        Track track = this.tracks.get(entity.getId());
+        return track != null ? entity.getY() + track.velocityY() * aheadMs : entity.getY();
+    }
+
+    /**
+     * Predicted distance from the entity to the point after the given time.
+     */
+    public double predictDistance(Entity entity, double x, double y, long aheadMs) {
+        double dx = this.predictX(entity, aheadMs) - x;
+        double dy = this.predictY(entity, aheadMs) - y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Ring buffer of the latest positions, velocities are in pixels per millisecond.
+     */
+    private static final class Track {
+        private final double[] xs = new double[HISTORY];
+        private final double[] ys = new double[HISTORY];
+        private final long[] times = new long[HISTORY];
+        private int head = 0;
+        private int size = 0;
+        private double velocityX = 0.0;
+        private double velocityY = 0.0;
+
+        private void add(double x, double y, long now) {
+            if (this.size > 0 && this.times[this.latest()] == now) {
+                return; // Already sampled on this tick
+            }
+            this.xs[this.head] = x;
+            this.ys[this.head] = y;
+            this.times[this.head] = now;
+            this.head = (this.head + 1) % HISTORY;
+            this.size = Math.min(this.size + 1, HISTORY);
+
+            // Velocity between the oldest sample inside the span and the latest one
+            int latest = this.latest();
+            this.velocityX = 0.0;
+            this.velocityY = 0.0;
+            for (int i = this.size - 1; i > 0; i--) {
+                int oldest = (latest - i + HISTORY) % HISTORY;
+                long span = this.times[latest] - this.times[oldest];
+                if (span > 0 && span <= MAX_SPAN_MS) {
+                    this.velocityX = (this.xs[latest] - this.xs[oldest]) / span;
+                    this.velocityY = (this.ys[latest] - this.ys[oldest]) / span;
+                    break;
+                }
+            }
+        }
+
+        private int latest() {
+            return (this.head - 1 + HISTORY) % HISTORY;
+        }
+
+        private long lastTime() {
+            return this.times[this.latest()];
+        }
+
+        private double velocityX() {
+            return this.velocityX;
+        }
+
+        private double velocityY() {
+            return this.velocityY;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.Collections;
+import java.util.List;
+
+import eu.darkbot.api.game.entities.Npc;
+import eu.darkbot.api.game.enums.EntityEffect;
+
+/**
+ * Read-only view of the gate NPCs captured once per tick.
+ */
+public final class NpcSnapshot {
+    public static final NpcSnapshot EMPTY = new NpcSnapshot(Collections.emptyList(), 0L);
+
+    private final List<Npc> npcs;
+    private final long tick;
+    private final boolean anyWithoutIsh;
+    private final boolean anyNotBlacklisted;
+
+    public NpcSnapshot(List<Npc> npcs, long tick) {
+        this.npcs = Collections.unmodifiableList(npcs);
+        this.tick = tick;
+
+        // Derived facts are computed in a single pass, so consumers don't rescan the list
+        boolean withoutIsh = false;
+        boolean notBlacklisted = false;
+        for (Npc npc : npcs) {
+            withoutIsh |= !hasIshEffect(npc);
+            notBlacklisted |= !npc.isBlacklisted();
+            if (withoutIsh && notBlacklisted) {
+                break;
+            }
+        }
+        this.anyWithoutIsh = withoutIsh;
+        this.anyNotBlacklisted = notBlacklisted;
+    }
+
+    /**
+     * Checks if the NPC has ISH effect.
+     */
+    public static boolean hasIshEffect(Npc npc) {
+        return npc.hasEffect(EntityEffect.NPC_ISH) || npc.hasEffect(EntityEffect.ISH);
+    }
+
+    public List<Npc> getNpcs() {
+        return this.npcs;
+    }
+
+    /**
+     * Sequence number of the tick the snapshot was taken on.
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    public int size() {
+        return this.npcs.size();
+    }
+
+    public boolean isEmpty() {
+        return this.npcs.isEmpty();
+    }
+
+    /**
+     * Whether any NPC in the snapshot is not protected by ISH.
+     */
+    public boolean hasNpcWithoutIsh() {
+        return this.anyWithoutIsh;
+    }
+
+    /**
+     * Whether any NPC in the snapshot is not blacklisted.
+     */
+    public boolean hasNotBlacklistedNpc() {
+        return this.anyNotBlacklisted;
+    }
+}
@@ -0,0 +1,63 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import eu.darkbot.api.game.entities.Npc;
+import eu.darkbot.api.managers.MovementAPI;
+
+/**
+ * Remembers pathfinding reachability of the snapshot NPCs for a single tick.
+ */
+public final class ReachabilityCache {
+    private final MovementAPI movement;
+    private final Map<Integer, Boolean> reachable = new HashMap<>();
+    private long tick = -1L;
+    private Boolean anyReachable = null;
+
+    public ReachabilityCache(MovementAPI movement) {
+        this.movement = movement;
+    }
+
+    /**
+     * Checks if the hero can move to the NPC, querying the pathfinder once per tick.
+     */
+    public boolean canReach(NpcSnapshot snapshot, Npc npc) {
+        this.sync(snapshot);
+        Boolean result = this.reachable.get(npc.getId());
+        if (result == null) {
+            result = this.movement.canMove(npc);
+            this.reachable.put(npc.getId(), result);
+        }
+        return result;
+    }
+
+    /**
+     * Checks if at least one NPC of the snapshot is reachable.
+     */
+    public boolean isAnyReachable(NpcSnapshot snapshot) {
+        this.sync(snapshot);
+        if (this.anyReachable == null) {
+            boolean any = false;
+            for (Npc npc : snapshot.getNpcs()) {
+                if (this.canReach(snapshot, npc)) {
+                    any = true;
+                    break;
+                }
+            }
+            this.anyReachable = any;
+        }
+        return this.anyReachable;
+    }
+
+    /**
+     * Drops the cached results once a new tick snapshot is in use.
+     */
+    private void sync(NpcSnapshot snapshot) {
+        if (this.tick != snapshot.getTick()) {
+            this.reachable.clear();
+            this.anyReachable = null;
+            this.tick = snapshot.getTick();
+        }
+    }
+}
@@ -50,9 +50,9 @@ public class ScheduledGateHelper {
         long seconds = waitingDuration.getAsLong();
         if (seconds > 0) {
             if (module.moveToRefinery()) {
-                StateStore.request(StateStore.State.MOVE_TO_SAFE_POSITION);
+                module.stateStore.request(StateStore.State.MOVE_TO_SAFE_POSITION);
             } else {
-                StateStore.request(StateStore.State.WAITING);
+                module.stateStore.request(StateStore.State.WAITING);
                 setStatus.accept(seconds);
                 if (seconds > PRE_START_WAIT_TIMEOUT) {
                     this.handleStopping(module, stopDelayFn.applyAsLong(seconds));
@@ -92,7 +92,7 @@ public class ScheduledGateHelper {
         if (!this.autoStart) {
             return;
         }
-        StateStore.request(StateStore.State.WAITING);
+        module.stateStore.request(StateStore.State.WAITING);
         setStatus.run();
         if (seconds <= PRE_START_WAIT_TIMEOUT) {
             module.bot.handleRefresh();
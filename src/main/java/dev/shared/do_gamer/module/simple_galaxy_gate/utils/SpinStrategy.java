@@ -0,0 +1,192 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import dev.shared.do_gamer.module.simple_galaxy_gate.config.SimpleGalaxyGateConfig.BuilderSettings;
+
+/**
+ * Chooses the spin batch size and multiplier use from the observed gate parts per spin.
+ * Bigger batches need fewer requests and less waiting per spin, but every spin after
+ * the last needed part is wasted uridium: the batch with the lowest expected uridium and
+ * time per part is used. API-free, also used by the offline spin simulator.
+ */
+public final class SpinStrategy {
+    public static final int[] BATCHES = { 100, 10, 5, 1 };
+    public static final int REQUEST_MS = 300; // Typical spin request round-trip
+    private static final int MIN_OBSERVED_SPINS = 20;
+    private static final long MAX_OBSERVED_SPINS = 2_000L; // Older spins fade out above this
+    private static final double OPTIMISTIC_RATE = 1.25; // Rather a smaller batch than wasted spins
+    private static final int LAST_SPINS = 10;
+    private static final int MAX_MULTIPLIER = 6;
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Parts gained per spin, without multiplier or with one multiplier value.
+     */
+    private static final class Rate {
+        private double parts = 0.0;
+        private double spins = 0.0;
+
+        private void record(int spins, int parts) {
+            this.spins += spins;
+            this.parts += parts;
+            if (this.spins > MAX_OBSERVED_SPINS) {
+                this.spins /= 2.0;
+                this.parts /= 2.0;
+            }
+        }
+
+        private double get() {
+            return this.spins > 0 ? this.parts / this.spins : 0.0;
+        }
+    }
+
+    /**
+     * Costs of the next batch. Spins paid with extra energy are charged the uridium cost
+     * too, the energy would save as many paid spins later.
+     */
+    public static final class Costs {
+        private final int affordableSpins;
+        private final int uridiumPerSpin;
+        private final int waitScale;
+        private final int uridiumPerSecond;
+
+        public Costs(int affordableSpins, int uridiumPerSpin, int waitScale, int uridiumPerSecond) {
+            this.affordableSpins = affordableSpins;
+            this.uridiumPerSpin = uridiumPerSpin;
+            this.waitScale = waitScale;
+            this.uridiumPerSecond = uridiumPerSecond;
+        }
+    }
+
+    private final Rate baseRate = new Rate();
+    private final Rate[] multiRates = new Rate[MAX_MULTIPLIER + 1];
+
+    public SpinStrategy() {
+        for (int i = 0; i < this.multiRates.length; i++) {
+            this.multiRates[i] = new Rate();
+        }
+    }
+
+    /**
+     * Wait after a batch of spins at normal builder speed.
+     */
+    public static int waitMs(int batch) {
+        switch (batch) {
+            case 100:
+                return BuilderSettings.WAIT_TIME_SPIN_100;
+            case 10:
+                return BuilderSettings.WAIT_TIME_SPIN_10;
+            case 5:
+                return BuilderSettings.WAIT_TIME_SPIN_5;
+            default:
+                return BuilderSettings.WAIT_TIME_SPIN_1;
+        }
+    }
+
+    /**
+     * Records the parts gained by a batch of spins at the given multiplier.
+     */
+    public void record(int spins, int multiplier, boolean useMulti, int parts) {
+        if (spins <= 0 || parts < 0) {
+            return;
+        }
+        this.rate(multiplier, useMulti).record(spins, parts);
+    }
+
+    /**
+     * Checks if enough spins were observed to rely on the rates.
+     */
+    public boolean isLearned() {
+        double spins = this.baseRate.spins;
+        for (Rate rate : this.multiRates) {
+            spins += rate.spins;
+        }
+        return spins >= MIN_OBSERVED_SPINS && this.fallbackRate().get() > 0;
+    }
+
+    /**
+     * Observed parts per spin, the fallback rate while the multiplier value is not observed yet.
+     */
+    public double getPartsPerSpin(int multiplier, boolean useMulti) {
+        Rate rate = this.rate(multiplier, useMulti);
+        return rate.spins >= MIN_OBSERVED_SPINS ? rate.get() : this.fallbackRate().get();
+    }
+
+    /**
+     * Observed gain of using the given multiplier, 1 while unknown.
+     */
+    public double getMultiplierGain(int multiplier) {
+        double base = this.getPartsPerSpin(multiplier, false);
+        return base > 0 ? this.getPartsPerSpin(multiplier, true) / base : 1.0;
+    }
+
+    /**
+     * Expected spins to get the remaining parts, on the optimistic side.
+     */
+    public int getNeededSpins(int remainingParts, int multiplier, boolean useMulti) {
+        double rate = this.getPartsPerSpin(multiplier, useMulti) * OPTIMISTIC_RATE;
+        return rate > 0 ? (int) (remainingParts / rate) : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Affordable batch with the lowest expected uridium and time per part, at least 1.
+     * Parts are expected on the optimistic side, so a batch past the last needed part
+     * is charged for the spins it likely wastes. Ties go to the faster batch.
+     */
+    public int chooseBatch(int remainingParts, int multiplier, boolean useMulti, Costs costs) {
+        double rate = this.getPartsPerSpin(multiplier, useMulti) * OPTIMISTIC_RATE;
+        if (rate <= 0 || remainingParts <= 0) {
+            return 1;
+        }
+        int best = 1;
+        double bestCost = Double.MAX_VALUE;
+        double bestSeconds = Double.MAX_VALUE;
+        for (int batch : BATCHES) {
+            if (batch > costs.affordableSpins && batch > 1) {
+                continue;
+            }
+            double parts = Math.min(batch * rate, remainingParts);
+            double uridium = (double) batch * costs.uridiumPerSpin;
+            double seconds = (REQUEST_MS + (double) waitMs(batch) * costs.waitScale) / 1_000.0;
+            double cost = (uridium + seconds * costs.uridiumPerSecond) / parts;
+            double secondsPerPart = seconds / parts;
+            if (cost < bestCost - EPSILON
+                    || (cost <= bestCost + EPSILON && secondsPerPart < bestSeconds)) {
+                best = batch;
+                bestCost = cost;
+                bestSeconds = secondsPerPart;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Uses the multiplier from the configured value, or for the last spins of the gate
+     * since it has no use once the gate is done.
+     */
+    public boolean shouldUseMulti(int multiplier, int useMultiAt, int remainingParts) {
+        if (multiplier >= useMultiAt) {
+            return true;
+        }
+        return multiplier > 1 && this.getNeededSpins(remainingParts, multiplier, true) <= LAST_SPINS;
+    }
+
+    /**
+     * The base rate, or the most observed multiplier rate while no spin without it was seen.
+     */
+    private Rate fallbackRate() {
+        if (this.baseRate.spins > 0) {
+            return this.baseRate;
+        }
+        Rate fallback = this.baseRate;
+        for (Rate rate : this.multiRates) {
+            if (rate.spins > fallback.spins) {
+                fallback = rate;
+            }
+        }
+        return fallback;
+    }
+
+    private Rate rate(int multiplier, boolean useMulti) {
+        return useMulti && multiplier > 1 && multiplier <= MAX_MULTIPLIER ? this.multiRates[multiplier] : this.baseRate;
+    }
+}
@@ -1,10 +1,21 @@
 package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import eu.darkbot.util.Timer;
 
+/**
+ * State machine of a gate module instance.
+ * Requests during a tick overwrite each other (last one wins) and are applied
+ * once per tick, following the allowed transitions. Requests the transition
+ * table rejects are kept in the transition log too.
+ */
 public final class StateStore {
     public enum State {
         WAITING("Waiting"),
@@ -26,40 +37,157 @@ public final class StateStore {
         }
     }
 
-    private static final List<State> REQUESTS = new ArrayList<>();
-    private static final Timer delayTimer = Timer.get(1000L);
-    private static State state = State.WAITING;
+    /**
+     * A state change with the time it happened, or a rejected request for it.
+     */
+    public static final class Transition {
+        public final State from;
+        public final State to;
+        public final long time;
+        public final boolean rejected;
 
-    private StateStore() {
+        private Transition(State from, State to, long time, boolean rejected) {
+            this.from = from;
+            this.to = to;
+            this.time = time;
+            this.rejected = rejected;
+        }
     }
 
+    /**
+     * Notified after every applied state change.
+     */
+    public interface TransitionListener {
+        void onTransition(State from, State to, long durationMs, long now);
+    }
+
+    private static final int LOG_SIZE = 32;
+    private static final Map<State, Set<State>> TRANSITIONS = new EnumMap<>(State.class);
+
+    static {
+        for (State from : State.values()) {
+            Set<State> allowed = EnumSet.allOf(State.class);
+            // Gates are only built while waiting outside of them
+            if (from != State.WAITING && from != State.BUILDING) {
+                allowed.remove(State.BUILDING);
+            }
+            TRANSITIONS.put(from, allowed);
+        }
+    }
+
+    private final Timer delayTimer = Timer.get(1000L);
+    private volatile State state = State.WAITING;
+    private State requested = null;
+    private long enteredAt = System.currentTimeMillis();
+    private final long[] residencyMs = new long[State.values().length];
+
+    private final State[] logFrom = new State[LOG_SIZE];
+    private final State[] logTo = new State[LOG_SIZE];
+    private final long[] logTimes = new long[LOG_SIZE];
+    private final boolean[] logRejected = new boolean[LOG_SIZE];
+    private int logHead = 0;
+    private int logSize = 0;
+    private TransitionListener listener = null;
+
     /**
      * Request a state change.
      */
-    public static void request(State state) {
-        REQUESTS.add(state);
+    public void request(State state) {
+        this.requested = state;
     }
 
     /**
      * Apply requested state changes.
      */
-    public static void apply() {
-        State resolved = REQUESTS.isEmpty() ? state : REQUESTS.get(REQUESTS.size() - 1);
-        if (resolved != null) {
-            if (resolved == state) {
-                delayTimer.activate();
-            } else if (delayTimer.isInactive()) {
-                state = resolved;
-                delayTimer.activate();
-            }
+    public void apply() {
+        State resolved = this.requested != null ? this.requested : this.state;
+        this.requested = null;
+        if (resolved == this.state) {
+            this.delayTimer.activate();
+        } else if (!canTransition(this.state, resolved)) {
+            this.reject(resolved, System.currentTimeMillis());
+        } else if (this.delayTimer.isInactive()) {
+            this.transition(resolved, System.currentTimeMillis());
+            this.delayTimer.activate();
         }
-        REQUESTS.clear();
+    }
+
+    public void setListener(TransitionListener listener) {
+        this.listener = listener;
     }
 
     /**
      * Get the current state.
      */
-    public static State current() {
-        return state;
+    public State current() {
+        return this.state;
+    }
+
+    /**
+     * Checks if the transition table allows the state change.
+     */
+    public static boolean canTransition(State from, State to) {
+        return TRANSITIONS.get(from).contains(to);
+    }
+
+    /**
+     * Total time spent in the state, including the current stay.
+     */
+    public long getResidencyMs(State state, long now) {
+        long total = this.residencyMs[state.ordinal()];
+        if (state == this.state) {
+            total += now - this.enteredAt;
+        }
+        return total;
+    }
+
+    /**
+     * Latest transitions, oldest first.
+     */
+    public List<Transition> getTransitions() {
+        if (this.logSize == 0) {
+            return Collections.emptyList();
+        }
+        List<Transition> transitions = new ArrayList<>(this.logSize);
+        for (int i = this.logSize; i > 0; i--) {
+            int index = (this.logHead - i + LOG_SIZE) % LOG_SIZE;
+            transitions.add(new Transition(this.logFrom[index], this.logTo[index], this.logTimes[index],
+                    this.logRejected[index]));
+        }
+        return transitions;
+    }
+
+    private void transition(State next, long now) {
+        State previous = this.state;
+        long durationMs = now - this.enteredAt;
+        this.residencyMs[previous.ordinal()] += durationMs;
+        this.log(previous, next, now, false);
+        this.enteredAt = now;
+        this.state = next;
+        if (this.listener != null) {
+            this.listener.onTransition(previous, next, durationMs, now);
+        }
+    }
+
+    /**
+     * Logs a rejected request, repeats of the latest entry only update its time.
+     */
+    private void reject(State next, long now) {
+        int last = (this.logHead - 1 + LOG_SIZE) % LOG_SIZE;
+        if (this.logSize > 0 && this.logRejected[last] && this.logFrom[last] == this.state && this.logTo[last] == next) {
+            this.logTimes[last] = now;
+            return;
+        }
+        System.out.println("Simple GG rejected state change: " + this.state.message + " -> " + next.message);
+        this.log(this.state, next, now, true);
+    }
+
+    private void log(State from, State to, long now, boolean rejected) {
+        this.logFrom[this.logHead] = from;
+        this.logTo[this.logHead] = to;
+        this.logTimes[this.logHead] = now;
+        this.logRejected[this.logHead] = rejected;
+        this.logHead = (this.logHead + 1) % LOG_SIZE;
+        this.logSize = Math.min(this.logSize + 1, LOG_SIZE);
     }
 }
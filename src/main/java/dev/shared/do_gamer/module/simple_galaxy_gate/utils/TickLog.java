@@ -0,0 +1,394 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary log of per-tick gate snapshots, written by the tick recorder and read
+ * back offline. Names are written once and referenced by index afterwards;
+ * coordinates are rounded to whole units. Since version 2 the targeting inputs
+ * are recorded too: aiming NPCs, loot and hero targets and the targeting options.
+ */
+public final class TickLog {
+    private static final int MAGIC = 0x4747544C; // "GGTL"
+    private static final int VERSION = 2;
+    private static final byte NAME_RECORD = 1;
+    private static final byte FRAME_RECORD = 2;
+
+    public static final int NPC_RELAY = 1;
+    public static final int NPC_AIMING = 2; // Aiming at the hero
+
+    public static final int HERO_ATTACKING = 1;
+
+    public static final int CONFIG_TTK_TARGETING = 1;
+    public static final int CONFIG_STICK_TO_ANY_TARGET = 2;
+    public static final int CONFIG_KAMIKAZE = 4;
+
+    private TickLog() {
+    }
+
+    /**
+     * Snapshot of one tick. Arrays are reused between frames and may be longer
+     * than the counts.
+     */
+    public static final class Frame {
+        public long time;
+        public int mapId;
+        public String state;
+        public int heroX;
+        public int heroY;
+        public int heroHp;
+        public int heroShield;
+        public int heroFlags;
+        public int heroTargetId = -1;
+        public int targetId = -1; // Target of the loot module
+
+        public int gateId = -1;
+        public int configFlags;
+        public int targetSwitchOffset;
+        public int kamikazeMinNpcs;
+
+        public int npcCount;
+        public int[] npcIds = new int[16];
+        public String[] npcNames = new String[16];
+        public int[] npcXs = new int[16];
+        public int[] npcYs = new int[16];
+        public int[] npcHps = new int[16];
+        public int[] npcShields = new int[16];
+        public int[] npcRadii = new int[16];
+        public int[] npcFlags = new int[16];
+
+        public int boxCount;
+        public int[] boxIds = new int[16];
+        public String[] boxTypes = new String[16];
+        public int[] boxXs = new int[16];
+        public int[] boxYs = new int[16];
+
+        public int portalCount;
+        public int[] portalTypes = new int[4];
+        public int[] portalTargets = new int[4];
+        public int[] portalXs = new int[4];
+        public int[] portalYs = new int[4];
+
+        public int barrierCount;
+        public int[] barrierXs = new int[4];
+        public int[] barrierYs = new int[4];
+
+        /**
+         * Starts a new snapshot, keeping the arrays.
+         */
+        public void clear(long time, int mapId, String state) {
+            this.time = time;
+            this.mapId = mapId;
+            this.state = state;
+            this.npcCount = 0;
+            this.boxCount = 0;
+            this.portalCount = 0;
+            this.barrierCount = 0;
+        }
+
+        public void setHero(int x, int y, int hp, int shield) {
+            this.heroX = x;
+            this.heroY = y;
+            this.heroHp = hp;
+            this.heroShield = shield;
+        }
+
+        /**
+         * Targets of the tick, -1 for none.
+         */
+        public void setTargets(int heroFlags, int heroTargetId, int targetId) {
+            this.heroFlags = heroFlags;
+            this.heroTargetId = heroTargetId;
+            this.targetId = targetId;
+        }
+
+        /**
+         * Targeting options of the tick, -1 gate ID when none is configured.
+         */
+        public void setConfig(int gateId, int configFlags, int targetSwitchOffset, int kamikazeMinNpcs) {
+            this.gateId = gateId;
+            this.configFlags = configFlags;
+            this.targetSwitchOffset = targetSwitchOffset;
+            this.kamikazeMinNpcs = kamikazeMinNpcs;
+        }
+
+        public void addNpc(int id, String name, int x, int y, int hp, int shield, int radius, int flags) {
+            if (this.npcCount == this.npcIds.length) {
+                int size = this.npcCount * 2;
+                this.npcIds = Arrays.copyOf(this.npcIds, size);
+                this.npcNames = Arrays.copyOf(this.npcNames, size);
+                this.npcXs = Arrays.copyOf(this.npcXs, size);
+                this.npcYs = Arrays.copyOf(this.npcYs, size);
+                this.npcHps = Arrays.copyOf(this.npcHps, size);
+                this.npcShields = Arrays.copyOf(this.npcShields, size);
+                this.npcRadii = Arrays.copyOf(this.npcRadii, size);
+                this.npcFlags = Arrays.copyOf(this.npcFlags, size);
+            }
+            int i = this.npcCount++;
+            this.npcIds[i] = id;
+            this.npcNames[i] = name;
+            this.npcXs[i] = x;
+            this.npcYs[i] = y;
+            this.npcHps[i] = hp;
+            this.npcShields[i] = shield;
+            this.npcRadii[i] = radius;
+            this.npcFlags[i] = flags;
+        }
+
+        public void addBox(int id, String type, int x, int y) {
+            if (this.boxCount == this.boxIds.length) {
+                int size = this.boxCount * 2;
+                this.boxIds = Arrays.copyOf(this.boxIds, size);
+                this.boxTypes = Arrays.copyOf(this.boxTypes, size);
+                this.boxXs = Arrays.copyOf(this.boxXs, size);
+                this.boxYs = Arrays.copyOf(this.boxYs, size);
+            }
+            int i = this.boxCount++;
+            this.boxIds[i] = id;
+            this.boxTypes[i] = type;
+            this.boxXs[i] = x;
+            this.boxYs[i] = y;
+        }
+
+        public void addPortal(int type, int targetMapId, int x, int y) {
+            if (this.portalCount == this.portalTypes.length) {
+                int size = this.portalCount * 2;
+                this.portalTypes = Arrays.copyOf(this.portalTypes, size);
+                this.portalTargets = Arrays.copyOf(this.portalTargets, size);
+                this.portalXs = Arrays.copyOf(this.portalXs, size);
+                this.portalYs = Arrays.copyOf(this.portalYs, size);
+            }
+            int i = this.portalCount++;
+            this.portalTypes[i] = type;
+            this.portalTargets[i] = targetMapId;
+            this.portalXs[i] = x;
+            this.portalYs[i] = y;
+        }
+
+        public void addBarrier(int x, int y) {
+            if (this.barrierCount == this.barrierXs.length) {
+                int size = this.barrierCount * 2;
+                this.barrierXs = Arrays.copyOf(this.barrierXs, size);
+                this.barrierYs = Arrays.copyOf(this.barrierYs, size);
+            }
+            int i = this.barrierCount++;
+            this.barrierXs[i] = x;
+            this.barrierYs[i] = y;
+        }
+
+        /**
+         * Independent copy of the frame.
+         */
+        public Frame copy() {
+            Frame frame = new Frame();
+            frame.clear(this.time, this.mapId, this.state);
+            frame.setHero(this.heroX, this.heroY, this.heroHp, this.heroShield);
+            frame.setTargets(this.heroFlags, this.heroTargetId, this.targetId);
+            frame.setConfig(this.gateId, this.configFlags, this.targetSwitchOffset, this.kamikazeMinNpcs);
+            for (int i = 0; i < this.npcCount; i++) {
+                frame.addNpc(this.npcIds[i], this.npcNames[i], this.npcXs[i], this.npcYs[i],
+                        this.npcHps[i], this.npcShields[i], this.npcRadii[i], this.npcFlags[i]);
+            }
+            for (int i = 0; i < this.boxCount; i++) {
+                frame.addBox(this.boxIds[i], this.boxTypes[i], this.boxXs[i], this.boxYs[i]);
+            }
+            for (int i = 0; i < this.portalCount; i++) {
+                frame.addPortal(this.portalTypes[i], this.portalTargets[i], this.portalXs[i], this.portalYs[i]);
+            }
+            for (int i = 0; i < this.barrierCount; i++) {
+                frame.addBarrier(this.barrierXs[i], this.barrierYs[i]);
+            }
+            return frame;
+        }
+    }
+
+    /**
+     * Writes frames to a stream, the caller buffers and closes it.
+     */
+    public static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> names = new HashMap<>();
+
+        public Writer(OutputStream out) throws IOException {
+            this.out = new DataOutputStream(out);
+            this.out.writeInt(MAGIC);
+            this.out.writeInt(VERSION);
+        }
+
+        public void write(Frame frame) throws IOException {
+            // Names first seen in this frame are defined before it
+            int state = this.name(frame.state);
+            for (int i = 0; i < frame.npcCount; i++) {
+                this.name(frame.npcNames[i]);
+            }
+            for (int i = 0; i < frame.boxCount; i++) {
+                this.name(frame.boxTypes[i]);
+            }
+
+            this.out.writeByte(FRAME_RECORD);
+            this.out.writeLong(frame.time);
+            this.out.writeInt(frame.mapId);
+            this.out.writeShort(state);
+            this.out.writeInt(frame.heroX);
+            this.out.writeInt(frame.heroY);
+            this.out.writeInt(frame.heroHp);
+            this.out.writeInt(frame.heroShield);
+            this.out.writeByte(frame.heroFlags);
+            this.out.writeInt(frame.heroTargetId);
+            this.out.writeInt(frame.targetId);
+            this.out.writeInt(frame.gateId);
+            this.out.writeByte(frame.configFlags);
+            this.out.writeShort(frame.targetSwitchOffset);
+            this.out.writeShort(frame.kamikazeMinNpcs);
+
+            this.out.writeShort(frame.npcCount);
+            for (int i = 0; i < frame.npcCount; i++) {
+                this.out.writeInt(frame.npcIds[i]);
+                this.out.writeShort(this.name(frame.npcNames[i]));
+                this.out.writeInt(frame.npcXs[i]);
+                this.out.writeInt(frame.npcYs[i]);
+                this.out.writeInt(frame.npcHps[i]);
+                this.out.writeInt(frame.npcShields[i]);
+                this.out.writeShort(frame.npcRadii[i]);
+                this.out.writeByte(frame.npcFlags[i]);
+            }
+            this.out.writeShort(frame.boxCount);
+            for (int i = 0; i < frame.boxCount; i++) {
+                this.out.writeInt(frame.boxIds[i]);
+                this.out.writeShort(this.name(frame.boxTypes[i]));
+                this.out.writeInt(frame.boxXs[i]);
+                this.out.writeInt(frame.boxYs[i]);
+            }
+            this.out.writeByte(frame.portalCount);
+            for (int i = 0; i < frame.portalCount; i++) {
+                this.out.writeInt(frame.portalTypes[i]);
+                this.out.writeInt(frame.portalTargets[i]);
+                this.out.writeInt(frame.portalXs[i]);
+                this.out.writeInt(frame.portalYs[i]);
+            }
+            this.out.writeByte(frame.barrierCount);
+            for (int i = 0; i < frame.barrierCount; i++) {
+                this.out.writeInt(frame.barrierXs[i]);
+                this.out.writeInt(frame.barrierYs[i]);
+            }
+        }
+
+        public void flush() throws IOException {
+            this.out.flush();
+        }
+
+        private int name(String name) throws IOException {
+            String value = name != null ? name : "";
+            Integer index = this.names.get(value);
+            if (index == null) {
+                index = this.names.size();
+                this.names.put(value, index);
+                this.out.writeByte(NAME_RECORD);
+                this.out.writeUTF(value);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Reads frames back from a stream, the caller buffers and closes it.
+     */
+    public static final class Reader {
+        private final DataInputStream in;
+        private final List<String> names = new ArrayList<>();
+        private final int version;
+
+        /**
+         * Reads version 1 logs too, without targeting inputs.
+         */
+        public Reader(InputStream in) throws IOException {
+            this.in = new DataInputStream(in);
+            if (this.in.readInt() != MAGIC) {
+                throw new IOException("Not a tick log");
+            }
+            this.version = this.in.readInt();
+            if (this.version < 1 || this.version > VERSION) {
+                throw new IOException("Unsupported tick log version " + this.version);
+            }
+        }
+
+        /**
+         * Reads the next frame into the given one.
+         *
+         * @return false at the end of the log, including a frame cut short by a crash
+         */
+        public boolean read(Frame frame) throws IOException {
+            try {
+                byte record = this.in.readByte();
+                while (record == NAME_RECORD) {
+                    this.names.add(this.in.readUTF());
+                    record = this.in.readByte();
+                }
+                if (record != FRAME_RECORD) {
+                    throw new IOException("Unknown tick log record " + record);
+                }
+                this.readFrame(frame);
+                return true;
+            } catch (EOFException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Reads the whole log into independent frames.
+         */
+        public List<Frame> readAll() throws IOException {
+            List<Frame> frames = new ArrayList<>();
+            Frame frame = new Frame();
+            while (this.read(frame)) {
+                frames.add(frame.copy());
+            }
+            return frames;
+        }
+
+        private void readFrame(Frame frame) throws IOException {
+            long time = this.in.readLong();
+            int mapId = this.in.readInt();
+            frame.clear(time, mapId, this.names.get(this.in.readUnsignedShort()));
+            frame.setHero(this.in.readInt(), this.in.readInt(), this.in.readInt(), this.in.readInt());
+            if (this.version >= 2) {
+                frame.setTargets(this.in.readUnsignedByte(), this.in.readInt(), this.in.readInt());
+                frame.setConfig(this.in.readInt(), this.in.readUnsignedByte(), this.in.readShort(),
+                        this.in.readShort());
+            } else {
+                frame.setTargets(0, -1, -1);
+                frame.setConfig(-1, 0, 0, 0);
+            }
+
+            int npcs = this.in.readUnsignedShort();
+            for (int i = 0; i < npcs; i++) {
+                frame.addNpc(this.in.readInt(), this.names.get(this.in.readUnsignedShort()),
+                        this.in.readInt(), this.in.readInt(), this.in.readInt(), this.in.readInt(),
+                        this.in.readUnsignedShort(), this.in.readUnsignedByte());
+            }
+            int boxes = this.in.readUnsignedShort();
+            for (int i = 0; i < boxes; i++) {
+                frame.addBox(this.in.readInt(), this.names.get(this.in.readUnsignedShort()),
+                        this.in.readInt(), this.in.readInt());
+            }
+            int portals = this.in.readUnsignedByte();
+            for (int i = 0; i < portals; i++) {
+                frame.addPortal(this.in.readInt(), this.in.readInt(), this.in.readInt(), this.in.readInt());
+            }
+            int barriers = this.in.readUnsignedByte();
+            for (int i = 0; i < barriers; i++) {
+                frame.addBarrier(this.in.readInt(), this.in.readInt());
+            }
+        }
+    }
+}
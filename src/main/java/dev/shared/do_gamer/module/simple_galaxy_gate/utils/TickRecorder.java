@@ -0,0 +1,145 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import dev.shared.do_gamer.module.simple_galaxy_gate.config.SimpleGalaxyGateConfig;
+import dev.shared.utils.PluginFiles;
+import eu.darkbot.api.game.entities.Barrier;
+import eu.darkbot.api.game.entities.Box;
+import eu.darkbot.api.game.entities.Entity;
+import eu.darkbot.api.game.entities.Npc;
+import eu.darkbot.api.game.entities.Portal;
+import eu.darkbot.api.game.entities.Relay;
+import eu.darkbot.api.game.other.GameMap;
+import eu.darkbot.api.managers.AttackAPI;
+import eu.darkbot.api.managers.EntitiesAPI;
+import eu.darkbot.api.managers.HeroAPI;
+import eu.darkbot.api.managers.StarSystemAPI;
+
+/**
+ * Records the gate entities and targeting inputs of every tick to a tick log, for offline replays.
+ * Only for dev needs: a new file is started each time recording is enabled.
+ */
+public final class TickRecorder {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int BUFFER_BYTES = 64 * 1_024;
+
+    private final EntitiesAPI entities;
+    private final HeroAPI hero;
+    private final StarSystemAPI starSystem;
+    private final AttackAPI attack;
+    private final TickLog.Frame frame = new TickLog.Frame();
+
+    private OutputStream out = null;
+    private TickLog.Writer writer = null;
+    private boolean failed = false;
+
+    public TickRecorder(EntitiesAPI entities, HeroAPI hero, StarSystemAPI starSystem, AttackAPI attack) {
+        this.entities = entities;
+        this.hero = hero;
+        this.starSystem = starSystem;
+        this.attack = attack;
+    }
+
+    /**
+     * Records the current tick when enabled, closes the log when disabled.
+     */
+    public void tick(SimpleGalaxyGateConfig config, StateStore.State state) {
+        if (!config.other.recordTicks) {
+            this.close();
+            this.failed = false; // Try again when enabled next time
+            return;
+        }
+        if (this.failed || (this.writer == null && !this.open())) {
+            return;
+        }
+        try {
+            this.capture(config, state);
+            this.writer.write(this.frame);
+        } catch (IOException e) {
+            System.out.println("Tick recording stopped: " + e.getMessage());
+            this.failed = true;
+            this.close();
+        }
+    }
+
+    /**
+     * Writes the buffered frames to the file, e.g. while the bot is paused.
+     */
+    public void flush() {
+        if (this.writer == null) {
+            return;
+        }
+        try {
+            this.writer.flush();
+        } catch (IOException e) {
+            System.out.println("Tick log not flushed: " + e.getMessage());
+        }
+    }
+
+    private void capture(SimpleGalaxyGateConfig config, StateStore.State state) {
+        GameMap map = this.starSystem.getCurrentMap();
+        this.frame.clear(System.currentTimeMillis(), map != null ? map.getId() : -1, state.name());
+        this.frame.setHero((int) this.hero.getX(), (int) this.hero.getY(),
+                this.hero.getHealth().getHp(), this.hero.getHealth().getShield());
+        Entity heroTarget = this.hero.getTarget();
+        Npc target = this.attack.getTargetAs(Npc.class);
+        this.frame.setTargets(this.hero.isAttacking() ? TickLog.HERO_ATTACKING : 0,
+                heroTarget != null ? heroTarget.getId() : -1, target != null ? target.getId() : -1);
+        this.frame.setConfig(config.gateId != null ? config.gateId : -1,
+                (config.other.ttkTargeting ? TickLog.CONFIG_TTK_TARGETING : 0)
+                        | (config.other.stickToAnyTarget ? TickLog.CONFIG_STICK_TO_ANY_TARGET : 0)
+                        | (config.kamikaze.enabled ? TickLog.CONFIG_KAMIKAZE : 0),
+                config.other.targetSwitchOffset, config.kamikaze.minNpcs);
+
+        for (Npc npc : this.entities.getNpcs()) {
+            int flags = (npc instanceof Relay ? TickLog.NPC_RELAY : 0)
+                    | (npc.isAiming(this.hero) ? TickLog.NPC_AIMING : 0);
+            this.frame.addNpc(npc.getId(), npc.getEntityInfo().getUsername(), (int) npc.getX(), (int) npc.getY(),
+                    npc.getHealth().getHp(), npc.getHealth().getShield(), (int) npc.getInfo().getRadius(), flags);
+        }
+        for (Box box : this.entities.getBoxes()) {
+            this.frame.addBox(box.getId(), box.getTypeName(), (int) box.getX(), (int) box.getY());
+        }
+        for (Portal portal : this.entities.getPortals()) {
+            this.frame.addPortal(portal.getTypeId(), portal.getTargetMap().map(GameMap::getId).orElse(-1),
+                    (int) portal.getX(), (int) portal.getY());
+        }
+        for (Barrier barrier : this.entities.getBarriers()) {
+            this.frame.addBarrier((int) barrier.getX(), (int) barrier.getY());
+        }
+    }
+
+    private boolean open() {
+        try {
+            String name = "tick_log-" + LocalDateTime.now().format(FILE_TIME) + ".ggtl";
+            this.out = new BufferedOutputStream(Files.newOutputStream(PluginFiles.resolve(name)), BUFFER_BYTES);
+            this.writer = new TickLog.Writer(this.out);
+            System.out.println("Tick recording started: " + name);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Tick recording not started: " + e.getMessage());
+            this.failed = true;
+            this.close();
+            return false;
+        }
+    }
+
+    private void close() {
+        if (this.out == null) {
+            return;
+        }
+        try {
+            this.out.close();
+        } catch (IOException e) {
+            System.out.println("Tick log not closed: " + e.getMessage());
+        }
+        this.out = null;
+        this.writer = null;
+    }
+}
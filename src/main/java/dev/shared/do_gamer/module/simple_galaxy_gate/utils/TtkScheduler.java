@@ -0,0 +1,168 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import eu.darkbot.api.game.entities.Npc;
+import eu.darkbot.api.game.other.Locatable;
+import eu.darkbot.api.managers.HeroAPI;
+
+/**
+ * Orders targets of the same priority by estimated time-to-kill: remaining
+ * HP and shield at the observed damage rate, plus travel time at hero speed.
+ */
+public final class TtkScheduler {
+    private static final double DEFAULT_DAMAGE_PER_MS = 50.0;
+    private static final double DAMAGE_SMOOTHING = 0.3;
+    private static final double HYSTERESIS = 0.25;
+    private static final int NO_TARGET = -1;
+
+    private final HeroAPI hero;
+    private double damagePerMs = -1.0;
+
+    // Last health sample of the target, only one is shot at a time
+    private int sampleTargetId = NO_TARGET;
+    private long sampleTime = 0L;
+    private long sampleHealth = 0L;
+
+    private long predictedWaveMs = -1L;
+    private long lastPredictedWaveMs = -1L;
+
+    public TtkScheduler(HeroAPI hero) {
+        this.hero = hero;
+    }
+
+    /**
+     * Samples the target health to learn the damage rate of the hero.
+     */
+    public void observe(Npc target, long now) {
+        if (target == null || !target.isValid() || !this.hero.isAttacking(target)) {
+            this.sampleTargetId = NO_TARGET; // Only measure while shooting
+            return;
+        }
+        long health = getHealthPoints(target);
+        if (target.getId() == this.sampleTargetId) {
+            if (health == this.sampleHealth) {
+                return; // Health changes in steps, measure between changes only
+            }
+            long elapsed = now - this.sampleTime;
+            long dealt = this.sampleHealth - health;
+            if (elapsed > 0 && dealt > 0) {
+                double rate = (double) dealt / elapsed;
+                this.damagePerMs = this.damagePerMs < 0
+                        ? rate
+                        : this.damagePerMs + DAMAGE_SMOOTHING * (rate - this.damagePerMs);
+            }
+        }
+        this.sampleTargetId = target.getId();
+        this.sampleTime = now;
+        this.sampleHealth = health;
+    }
+
+    /**
+     * Finds the NPC with the lowest priority value and, among those,
+     * the lowest estimated time-to-kill from the search location.
+     */
+    public Npc best(NpcSnapshot snapshot, Locatable location, Predicate<Npc> filter) {
+        Npc best = null;
+        int bestPriority = 0;
+        double bestTtk = 0.0;
+        for (Npc npc : snapshot.getNpcs()) {
+            if (!filter.test(npc)) {
+                continue;
+            }
+            int priority = npc.getInfo().getPriority();
+            if (best != null && priority > bestPriority) {
+                continue;
+            }
+            double ttk = this.estimateMs(npc, location);
+            if (best == null || priority < bestPriority || ttk < bestTtk) {
+                best = npc;
+                bestPriority = priority;
+                bestTtk = ttk;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Keeps the current target unless the best one is clearly faster to kill from the search location.
+     */
+    public boolean shouldKeep(Npc target, Npc best, Locatable location) {
+        if (target.getInfo().getPriority() > best.getInfo().getPriority()) {
+            return false;
+        }
+        return this.estimateMs(target, location) <= this.estimateMs(best, location) * (1.0 + HYSTERESIS);
+    }
+
+    /**
+     * Estimated milliseconds to reach and kill the NPC starting at the given location.
+     */
+    public double estimateMs(Npc npc, Locatable from) {
+        double killMs = getHealthPoints(npc) / this.getDamagePerMs();
+        double travel = Math.max(0.0, npc.distanceTo(from) - npc.getInfo().getRadius());
+        double speed = Math.max(this.hero.getSpeed(), 1);
+        return killMs + travel / speed * 1_000.0;
+    }
+
+    /**
+     * Predicts how long the wave takes, in the order of {@link #best}: lowest priority
+     * value first, then lowest time-to-kill from the previous NPC.
+     */
+    public void predictWave(NpcSnapshot snapshot) {
+        List<Npc> left = new ArrayList<>(snapshot.getNpcs());
+        Locatable from = this.hero;
+        double total = 0.0;
+        while (!left.isEmpty()) {
+            int next = 0;
+            int nextPriority = Integer.MAX_VALUE;
+            double nextTtk = Double.MAX_VALUE;
+            for (int i = 0; i < left.size(); i++) {
+                int priority = left.get(i).getInfo().getPriority();
+                if (priority > nextPriority) {
+                    continue;
+                }
+                double ttk = this.estimateMs(left.get(i), from);
+                if (priority < nextPriority || ttk < nextTtk) {
+                    next = i;
+                    nextPriority = priority;
+                    nextTtk = ttk;
+                }
+            }
+            total += nextTtk;
+            from = left.remove(next);
+        }
+        this.predictedWaveMs = (long) total;
+    }
+
+    /**
+     * Keeps the prediction of the cleared wave to compare with its duration.
+     */
+    public void onWaveCleared() {
+        this.lastPredictedWaveMs = this.predictedWaveMs;
+        this.predictedWaveMs = -1L;
+    }
+
+    /**
+     * Predicted duration of the running wave, -1 if unknown.
+     */
+    public long getPredictedWaveMs() {
+        return this.predictedWaveMs;
+    }
+
+    /**
+     * Prediction made for the last cleared wave, -1 if unknown.
+     */
+    public long getLastPredictedWaveMs() {
+        return this.lastPredictedWaveMs;
+    }
+
+    private double getDamagePerMs() {
+        return this.damagePerMs > 0 ? this.damagePerMs : DEFAULT_DAMAGE_PER_MS;
+    }
+
+    private static long getHealthPoints(Npc npc) {
+        return (long) npc.getHealth().getHp() + npc.getHealth().getShield();
+    }
+}
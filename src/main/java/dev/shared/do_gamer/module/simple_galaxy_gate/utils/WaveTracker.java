@@ -0,0 +1,57 @@
+package dev.shared.do_gamer.module.simple_galaxy_gate.utils;
+
+/**
+ * Detects gate waves from the NPC count: a wave starts when NPCs appear
+ * and is cleared when none are left.
+ */
+public final class WaveTracker {
+    public enum Event {
+        NONE, STARTED, CLEARED
+    }
+
+    private boolean running = false;
+    private long startedAt = 0L;
+    private long lastDurationMs = -1L;
+
+    /**
+     * Updates the tracker with the NPC count of the current tick.
+     */
+    public Event update(int npcCount, long now) {
+        if (!this.running && npcCount > 0) {
+            this.running = true;
+            this.startedAt = now;
+            return Event.STARTED;
+        }
+        if (this.running && npcCount == 0) {
+            this.running = false;
+            this.lastDurationMs = now - this.startedAt;
+            return Event.CLEARED;
+        }
+        return Event.NONE;
+    }
+
+    /**
+     * Forgets the running wave, e.g. after the ship was destroyed.
+     */
+    public void reset() {
+        this.running = false;
+    }
+
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Milliseconds since the running wave started, 0 when no wave is running.
+     */
+    public long getElapsedMs(long now) {
+        return this.running ? now - this.startedAt : 0L;
+    }
+
+    /**
+     * Duration of the last cleared wave, -1 if none was cleared yet.
+     */
+    public long getLastDurationMs() {
+        return this.lastDurationMs;
+    }
+}
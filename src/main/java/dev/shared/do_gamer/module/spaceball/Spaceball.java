@@ -6,6 +6,7 @@ import java.time.LocalDateTime;
 import dev.shared.do_gamer.config.SpaceballConfig;
 import dev.shared.do_gamer.utils.PetGearHelper;
 import dev.shared.do_gamer.utils.ServerTimeHelper;
+import dev.shared.utils.StatusText;
 import eu.darkbot.api.PluginAPI;
 import eu.darkbot.api.config.ConfigSetting;
 import eu.darkbot.api.config.types.BoxInfo;
@@ -42,6 +43,8 @@ public class Spaceball implements Module, Task, Configurable<SpaceballConfig>, I
     private final BackpageAPI backpage;
     private final MapTraveler traveler;
     private final PetGearHelper petGearHelper;
+    private final StatusText statusText = new StatusText();
+    private final StatusText stoppedStatusText = new StatusText();
     private boolean isSpaceball;
     private long lastTargetLostTime;
     private SpaceballConfig config;
@@ -157,17 +160,17 @@ public class Spaceball implements Module, Task, Configurable<SpaceballConfig>, I
     }
 
     @Override
-    public String getStatus() {
-        StringBuilder status = new StringBuilder("SpaceBall: ");
+    public synchronized String getStatus() {
+        StringBuilder status = this.statusText.begin().append("SpaceBall: ");
 
         if (this.stop) {
             this.buildStoppingStatus(status);
-            return status.toString();
+            return this.statusText.end();
         }
 
         if (!ServerTimeHelper.offsetUpdated()) {
             status.append("Waiting for server time sync...");
-            return status.toString();
+            return this.statusText.end();
         }
 
         this.buildRunningStatus(status);
@@ -175,7 +178,7 @@ public class Spaceball implements Module, Task, Configurable<SpaceballConfig>, I
         this.appendAdditionalStatus(status);
         this.appendTimeStatus(status);
 
-        return status.toString();
+        return this.statusText.end();
     }
 
     private void buildStoppingStatus(StringBuilder status) {
@@ -193,8 +196,7 @@ public class Spaceball implements Module, Task, Configurable<SpaceballConfig>, I
         if (this.direction.equals(DIRECTION_NEUTRAL) && !this.isTargetSpaceBall()) {
             status.append("Roaming");
         } else {
-            String modeInfo = getModeInfo();
-            status.append(String.format("%s - %s", this.direction, modeInfo));
+            status.append(this.direction).append(" - ").append(this.getModeInfo());
         }
     }
 
@@ -215,15 +217,15 @@ public class Spaceball implements Module, Task, Configurable<SpaceballConfig>, I
             status.append(" [");
             String space = "";
             if (this.reloadCounter > 0) {
-                status.append(String.format("R%d", this.reloadCounter));
+                status.append('R').append(this.reloadCounter);
                 space = " ";
             }
             if (this.nullTargetCounter > 0) {
-                status.append(String.format("%sT%d", space, this.nullTargetCounter));
+                status.append(space).append('T').append(this.nullTargetCounter);
                 space = " ";
             }
             if (delay > 0) {
-                status.append(String.format("%sD%d", space, delay));
+                status.append(space).append('D').append(delay);
             }
             status.append("]");
         }
@@ -231,23 +233,23 @@ public class Spaceball implements Module, Task, Configurable<SpaceballConfig>, I
 
     private void appendAdditionalStatus(StringBuilder status) {
         if (this.targetDelay() >= 0) {
-            status.append(String.format("  |  Collect: %s", this.collector.getStatus()));
+            status.append("  |  Collect: ").append(this.collector.getStatus());
         } else if (this.loot.getAttacker().hasTarget() && !this.isTargetSpaceBall()) {
-            status.append(String.format("  |  Kill: %s", this.loot.getStatus()));
+            status.append("  |  Kill: ").append(this.loot.getStatus());
         }
     }
 
     private void appendTimeStatus(StringBuilder status) {
         if (ServerTimeHelper.offsetUpdated() && !this.disabledTimeRestriction()) {
             LocalDateTime currentTime = ServerTimeHelper.currentDateTime();
-            status.append(this.getTimeStatus(currentTime));
+            this.appendTimeStatus(status, currentTime);
         }
     }
 
     @Override
-    public String getStoppedStatus() {
+    public synchronized String getStoppedStatus() {
         if (this.autoStart && !this.start) {
-            StringBuilder status = new StringBuilder("SpaceBall: ");
+            StringBuilder status = this.stoppedStatusText.begin().append("SpaceBall: ");
 
             if (!ServerTimeHelper.offsetUpdated()) {
                 status.append("Waiting for server time sync...");
@@ -255,7 +257,7 @@ public class Spaceball implements Module, Task, Configurable<SpaceballConfig>, I
                 this.buildAutoStartStatus(status);
             }
 
-            return status.toString();
+            return this.stoppedStatusText.end();
         }
         return null;
     }
@@ -268,37 +270,39 @@ public class Spaceball implements Module, Task, Configurable<SpaceballConfig>, I
         }
         long secondsUntilStart = Duration.between(currentTime, startTime).getSeconds();
         if (secondsUntilStart > 0) {
-            status.append(buildWaitingTimeString(secondsUntilStart));
+            this.appendWaitingTime(status, secondsUntilStart);
         } else {
             status.append("Starting bot...");
         }
         // Append time
-        status.append(this.getTimeStatus(currentTime));
+        this.appendTimeStatus(status, currentTime);
     }
 
-    private String buildWaitingTimeString(long seconds) {
+    private void appendWaitingTime(StringBuilder status, long seconds) {
         long hours = seconds / 3600;
         long minutes = (seconds % 3600) / 60;
         long secs = seconds % 60;
 
-        StringBuilder sb = new StringBuilder("Auto Start  |  Waiting time: ");
+        status.append("Auto Start  |  Waiting time: ");
         if (hours > 0) {
-            sb.append(String.format("%dh ", hours));
+            status.append(hours).append("h ");
         }
         if (minutes > 0 || hours > 0) {
-            sb.append(String.format("%dm ", minutes));
+            status.append(minutes).append("m ");
         }
-        sb.append(String.format("%ds", secs));
-        return sb.toString();
+        status.append(secs).append('s');
     }
 
-    private String getTimeStatus(LocalDateTime currentTime) {
-        String current = ServerTimeHelper.timeFormat(currentTime);
-        String startTime = String.format("%02d:00", this.config.time.startHour);
-        String stopTime = String.format("%02d:00", this.config.time.stopHour);
-        String next = (this.config.time.stopHour < this.config.time.startHour) ? " (next day)" : "";
-
-        return String.format("%n%nServer time: %s  |  Event time: %s - %s%s", current, startTime, stopTime, next);
+    private void appendTimeStatus(StringBuilder status, LocalDateTime currentTime) {
+        status.append(StatusText.NEW_LINE).append(StatusText.NEW_LINE).append("Server time: ");
+        StatusText.appendTwoDigits(status, currentTime.getHour()).append(':');
+        StatusText.appendTwoDigits(status, currentTime.getMinute());
+        status.append("  |  Event time: ");
+        StatusText.appendTwoDigits(status, this.config.time.startHour).append(":00 - ");
+        StatusText.appendTwoDigits(status, this.config.time.stopHour).append(":00");
+        if (this.config.time.stopHour < this.config.time.startHour) {
+            status.append(" (next day)");
+        }
     }
 
     public void onTickModule() {
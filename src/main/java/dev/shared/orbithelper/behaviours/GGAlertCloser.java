@@ -1,5 +1,6 @@
 package dev.shared.orbithelper.behaviours;
 
+import dev.shared.utils.TickProfiler;
 import eu.darkbot.api.PluginAPI;
 import eu.darkbot.api.extensions.Behavior;
 import eu.darkbot.api.extensions.Feature;
@@ -13,12 +14,14 @@ import eu.darkbot.util.Timer;
 public class GGAlertCloser implements Behavior {
     private final GameScreenAPI gameScreen;
     private final StarSystemAPI starSystem;
+    private final TickProfiler.Section profile;
 
     private Timer actionTimer = Timer.get();
 
     public GGAlertCloser(PluginAPI api) {
         this.gameScreen = api.requireAPI(GameScreenAPI.class);
         this.starSystem = api.requireAPI(StarSystemAPI.class);
+        this.profile = api.requireInstance(TickProfiler.class).section("GG Alert Closer");
     }
 
     private String getName(int number) {
@@ -27,6 +30,15 @@ public class GGAlertCloser implements Behavior {
 
     @Override
     public void onTickBehavior() {
+        long start = this.profile.start();
+        try {
+            this.tickBehavior();
+        } finally {
+            this.profile.stop(start);
+        }
+    }
+
+    private void tickBehavior() {
         if (!this.isInGalaxyGate() || this.actionTimer.isActive()) {
             return; // Not in GG or waiting for timer
         }
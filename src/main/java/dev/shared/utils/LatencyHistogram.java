@@ -0,0 +1,122 @@
+package dev.shared.utils;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram of durations with log-linear buckets (HDR style):
+ * exact up to 31 units (ms, us...), then 16 buckets per power of two,
+ * so any recorded value is known within ~6%.
+ * Recording never allocates. Not thread-safe, copy it to read from another thread.
+ */
+public final class LatencyHistogram {
+    private static final int LINEAR_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final long MAX_VALUE = (1L << 40) - 1; // ~34 years in ms, ~12 days in us
+    private static final int BUCKETS = bucketOf(MAX_VALUE) + 1;
+
+    private final long[] counts;
+    private long totalCount = 0L;
+    private long sum = 0L;
+    private long min = Long.MAX_VALUE;
+    private long max = 0L;
+
+    public LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+    }
+
+    private LatencyHistogram(LatencyHistogram other) {
+        this.counts = Arrays.copyOf(other.counts, BUCKETS);
+        this.totalCount = other.totalCount;
+        this.sum = other.sum;
+        this.min = other.min;
+        this.max = other.max;
+    }
+
+    /**
+     * Records a duration, negative values are recorded as 0.
+     */
+    public void record(long duration) {
+        long value = Math.max(0L, Math.min(duration, MAX_VALUE));
+        this.counts[bucketOf(value)]++;
+        this.totalCount++;
+        this.sum += value;
+        this.min = Math.min(this.min, value);
+        this.max = Math.max(this.max, value);
+    }
+
+    public long getCount() {
+        return this.totalCount;
+    }
+
+    /**
+     * Smallest recorded value, 0 when empty.
+     */
+    public long getMin() {
+        return this.totalCount == 0 ? 0L : this.min;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Average of the recorded values, 0 when empty.
+     */
+    public long getMean() {
+        return this.totalCount == 0 ? 0L : this.sum / this.totalCount;
+    }
+
+    /**
+     * Value at the percentile (0..100): the upper bound of the bucket holding it.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (this.totalCount == 0) {
+            return 0L;
+        }
+        double clamped = Math.max(0.0, Math.min(percentile, 100.0));
+        long rank = Math.max(1L, (long) Math.ceil(clamped / 100.0 * this.totalCount));
+        long seen = 0L;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += this.counts[bucket];
+            if (seen >= rank) {
+                return Math.max(this.getMin(), Math.min(upperBoundOf(bucket), this.max));
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * Independent copy of the current values.
+     */
+    public LatencyHistogram copy() {
+        return new LatencyHistogram(this);
+    }
+
+    public void reset() {
+        Arrays.fill(this.counts, 0L);
+        this.totalCount = 0L;
+        this.sum = 0L;
+        this.min = Long.MAX_VALUE;
+        this.max = 0L;
+    }
+
+    private static int bucketOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS + 1 bits of the value
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long sub = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
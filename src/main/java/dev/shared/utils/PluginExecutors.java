@@ -0,0 +1,39 @@
+package dev.shared.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background threads of the plugin. Each owner keeps one executor for its lifetime, so its
+ * tasks never overlap; the daemon thread ends once idle and is started again by the next task.
+ */
+public final class PluginExecutors {
+    private static final long IDLE_SECONDS = 30L;
+
+    private PluginExecutors() {
+    }
+
+    /**
+     * Factory of daemon threads with the given name.
+     */
+    public static ThreadFactory daemonThreads(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Executor running the tasks one after another on a daemon thread, which ends when idle.
+     */
+    public static ExecutorService singleThread(String name) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, IDLE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package dev.shared.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Location of the files written by the plugin, relative to the bot folder.
+ */
+public final class PluginFiles {
+    private static final Path ROOT = Paths.get("data", "shared_plugin");
+
+    private PluginFiles() {
+    }
+
+    /**
+     * Path of a plugin file, creating the folder when missing.
+     */
+    public static Path resolve(String name) throws IOException {
+        Files.createDirectories(ROOT);
+        return ROOT.resolve(name);
+    }
+
+    /**
+     * Path of a plugin file kept per account, bots sharing the folder don't overwrite
+     * each other. The account id goes before the extension: name-id.ext
+     */
+    public static Path resolveForAccount(String name, int accountId) throws IOException {
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        return resolve(base + "-" + accountId + extension);
+    }
+}
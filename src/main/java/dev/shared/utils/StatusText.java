@@ -0,0 +1,40 @@
+package dev.shared.utils;
+
+/**
+ * Reusable buffer for module status lines.
+ * Returns the same String instance for as long as the rendered text doesn't change.
+ */
+public final class StatusText {
+    public static final String NEW_LINE = System.lineSeparator();
+
+    private final StringBuilder builder = new StringBuilder(256);
+    private String text = "";
+
+    /**
+     * Starts rendering a new status, returns the cleared buffer.
+     */
+    public StringBuilder begin() {
+        this.builder.setLength(0);
+        return this.builder;
+    }
+
+    /**
+     * Finishes rendering, a new String is only created if the text changed.
+     */
+    public String end() {
+        if (!this.text.contentEquals(this.builder)) {
+            this.text = this.builder.toString();
+        }
+        return this.text;
+    }
+
+    /**
+     * Appends the value padded with a leading zero to two digits.
+     */
+    public static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        if (value >= 0 && value < 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
+    }
+}
@@ -0,0 +1,220 @@
+package dev.shared.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import eu.darkbot.api.API;
+
+/**
+ * Plugin-wide tick cost sampling, shared by the features through
+ * {@code api.requireInstance(TickProfiler.class)}.
+ * The sections timed in a tick are summed, ticks longer than the budget put the
+ * profiler in degraded mode for a while, so features can skip optional work.
+ * All sampling happens on the bot thread.
+ */
+public final class TickProfiler implements API.Singleton {
+    private static final String LOG_FILE = "tick_profiler.log";
+    private static final DateTimeFormatter LOG_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int MAX_PENDING_LINES = 1_000;
+    private static final long BUDGET_LEASE_MS = 3_000L; // Dropped once the profiler feature stops setting it
+
+    /**
+     * Timed part of the tick, e.g. one feature.
+     */
+    public final class Section {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram(); // microseconds
+        private long overBudget = 0L;
+
+        private Section(String name) {
+            this.name = name;
+        }
+
+        public long start() {
+            return System.nanoTime();
+        }
+
+        /**
+         * Records the time since {@link #start()}, added to the current tick.
+         */
+        public void stop(long startNs) {
+            long us = (System.nanoTime() - startNs) / 1_000L;
+            this.histogram.record(us);
+            TickProfiler.this.tickUs += us;
+            if (us > TickProfiler.this.slowestUs) {
+                TickProfiler.this.slowest = this;
+                TickProfiler.this.slowestUs = us;
+            }
+        }
+    }
+
+    private final Map<String, Section> sections = new LinkedHashMap<>();
+    private final List<String> pendingLines = new ArrayList<>();
+    private final ExecutorService writer = PluginExecutors.singleThread("SharedPlugin-TickProfiler");
+
+    // Current tick, summed until endTick
+    private final LatencyHistogram tickHistogram = new LatencyHistogram(); // microseconds
+    private long tickOverBudget = 0L;
+    private long tickUs = 0L;
+    private Section slowest = null;
+    private long slowestUs = 0L;
+
+    private long budgetUs = 0L; // Disabled until configured
+    private volatile long budgetSetAt = 0L;
+    private long degradeMs = 0L;
+    private boolean logToFile = false;
+    private volatile long degradedUntil = 0L;
+    private volatile String lastEvent = null;
+
+    /**
+     * Gets the section of the name, created on first use.
+     */
+    public synchronized Section section(String name) {
+        return this.sections.computeIfAbsent(name, Section::new);
+    }
+
+    /**
+     * Sets the budget of the whole tick, 0 disables the over budget checks.
+     * Must be set again every tick: the budget is dropped a few seconds after the
+     * last call, e.g. once the profiler feature is disabled or uninstalled.
+     *
+     * @param degradeMs how long optional work is skipped after a tick over budget
+     */
+    public void setBudget(long budgetMs, long degradeMs, boolean logToFile) {
+        this.budgetUs = Math.max(0L, budgetMs) * 1_000L;
+        this.budgetSetAt = System.currentTimeMillis();
+        this.degradeMs = degradeMs;
+        this.logToFile = logToFile;
+        if (budgetMs <= 0) {
+            this.degradedUntil = 0L;
+        }
+    }
+
+    /**
+     * Ends the tick: the sections timed since the previous call are summed and
+     * checked against the budget. Called once per tick by the profiler feature.
+     */
+    public void endTick() {
+        if (this.slowest == null) {
+            return; // Nothing timed
+        }
+        this.tickHistogram.record(this.tickUs);
+        if (this.isBudgetActive(System.currentTimeMillis()) && this.tickUs > this.budgetUs) {
+            this.tickOverBudget++;
+            this.slowest.overBudget++;
+            this.onOverBudget(this.slowest.name, this.slowestUs, this.tickUs);
+        }
+        this.tickUs = 0L;
+        this.slowest = null;
+        this.slowestUs = 0L;
+    }
+
+    /**
+     * Checks if optional work should be skipped, after a recent tick over budget.
+     */
+    public boolean isDegraded() {
+        long now = System.currentTimeMillis();
+        return this.degradedUntil != 0L && now < this.degradedUntil && this.isBudgetActive(now);
+    }
+
+    private boolean isBudgetActive(long now) {
+        return this.budgetUs > 0 && now - this.budgetSetAt < BUDGET_LEASE_MS;
+    }
+
+    /**
+     * Description of the latest tick over budget, null if none.
+     */
+    public String getLastEvent() {
+        return this.lastEvent;
+    }
+
+    /**
+     * One line for the whole tick then one per section: p50, p99 and max in ms,
+     * number of ticks over budget (for a section: where it took the most time).
+     * Called on the bot thread, like the sampling.
+     */
+    public List<String> describe() {
+        List<Section> copy;
+        synchronized (this) {
+            copy = new ArrayList<>(this.sections.values());
+        }
+        if (copy.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> lines = new ArrayList<>(copy.size() + 1);
+        StringBuilder line = new StringBuilder(64);
+        lines.add(describe(line, "Tick", this.tickHistogram, this.tickOverBudget));
+        for (Section section : copy) {
+            lines.add(describe(line, section.name, section.histogram, section.overBudget));
+        }
+        return lines;
+    }
+
+    private static String describe(StringBuilder line, String name, LatencyHistogram h, long overBudget) {
+        line.setLength(0);
+        line.append(name).append(": p50 ");
+        appendMs(line, h.getValueAtPercentile(50));
+        line.append(" | p99 ");
+        appendMs(line, h.getValueAtPercentile(99));
+        line.append(" | max ");
+        appendMs(line, h.getMax());
+        if (overBudget > 0) {
+            line.append(" | over ").append(overBudget);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Writes the over budget lines collected so far to the log file, in the background.
+     */
+    public void flushLog() {
+        if (this.pendingLines.isEmpty()) {
+            return;
+        }
+        String content = String.join(System.lineSeparator(), this.pendingLines) + System.lineSeparator();
+        this.pendingLines.clear();
+        try {
+            this.writer.execute(() -> append(content));
+        } catch (RejectedExecutionException e) {
+            System.out.println("Tick profiler log not written: " + e.getMessage());
+        }
+    }
+
+    private void onOverBudget(String slowestName, long slowestUs, long tickUs) {
+        long now = System.currentTimeMillis();
+        this.degradedUntil = now + this.degradeMs;
+        StringBuilder event = new StringBuilder(64).append("tick took ");
+        appendMs(event, tickUs);
+        event.append(", ").append(slowestName).append(' ');
+        appendMs(event, slowestUs);
+        this.lastEvent = event.toString();
+        if (this.logToFile && this.pendingLines.size() < MAX_PENDING_LINES) {
+            this.pendingLines.add(LocalDateTime.now().format(LOG_TIME) + " " + this.lastEvent);
+        }
+    }
+
+    private static void appendMs(StringBuilder sb, long us) {
+        sb.append(us / 1_000L).append('.');
+        StatusText.appendTwoDigits(sb, (int) (us % 1_000L / 10L)).append("ms");
+    }
+
+    private static void append(String content) {
+        try {
+            Files.write(PluginFiles.resolve(LOG_FILE), content.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.out.println("Tick profiler log not written: " + e.getMessage());
+        }
+    }
+}